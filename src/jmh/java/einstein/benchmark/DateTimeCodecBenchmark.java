@@ -0,0 +1,81 @@
+package einstein.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import einstein.util.DateTimeCodec;
+
+/**
+ * Compares parsing and formatting dates in the storage pattern with a formatter compiled on every call,
+ * as was done before {@link DateTimeCodec}, against the codec.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeCodecBenchmark {
+    private final String text = "2/12/2099 1800";
+    private final LocalDateTime dateTime = LocalDateTime.of(2099, 12, 2, 18, 0);
+
+    /**
+     * Parses with a formatter compiled for the call.
+     */
+    @Benchmark
+    public LocalDateTime parseWithNewFormatter() {
+        return LocalDateTime.parse(text, DateTimeFormatter.ofPattern(DateTimeCodec.STORAGE_PATTERN));
+    }
+
+    /**
+     * Parses with the codec.
+     */
+    @Benchmark
+    public LocalDateTime parseWithCodec() {
+        return DateTimeCodec.parseDateTime(text);
+    }
+
+    /**
+     * Formats with a formatter compiled for the call.
+     */
+    @Benchmark
+    public String formatWithNewFormatter() {
+        return dateTime.format(DateTimeFormatter.ofPattern(DateTimeCodec.STORAGE_PATTERN));
+    }
+
+    /**
+     * Formats with the codec.
+     */
+    @Benchmark
+    public String formatWithCodec() {
+        return DateTimeCodec.formatDateTime(dateTime);
+    }
+
+    /**
+     * Formats for display with a formatter compiled for the call.
+     */
+    @Benchmark
+    public String formatForDisplayWithNewFormatter() {
+        return dateTime.format(DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a"));
+    }
+
+    /**
+     * Formats for display with the codec.
+     */
+    @Benchmark
+    public String formatForDisplayWithCodec() {
+        return DateTimeCodec.formatForDisplay(dateTime);
+    }
+}
@@ -0,0 +1,109 @@
+package einstein.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.DurabilityPolicy;
+import einstein.storage.JournalEntry;
+import einstein.storage.Storage;
+import einstein.task.Task;
+
+/**
+ * Benchmarks the latency of saving a single change under each durability policy,
+ * both as a journal append and as a full atomic rewrite of the task file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DurabilityBenchmark {
+    @Param({"ALWAYS", "BATCHED", "NEVER"})
+    private DurabilityPolicy policy;
+
+    @Param({"1000"})
+    private int taskCount;
+
+    private Path directory;
+    private Storage journaledStorage;
+    private Storage plainStorage;
+    private ArrayList<Task> tasks;
+    private int nextTask;
+
+    /**
+     * Writes the task files that the benchmarks change.
+     *
+     * @throws IOException       If the temporary directory cannot be created.
+     * @throws EinsteinException If a task file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EinsteinException {
+        directory = Files.createTempDirectory("einstein-durability-benchmark");
+        tasks = new TaskFileGenerator(42).generateTasks(taskCount);
+        journaledStorage = new Storage(directory.resolve("journaled.txt").toString(), true, policy);
+        journaledStorage.save(tasks);
+        plainStorage = new Storage(directory.resolve("plain.txt").toString(), false, policy);
+        plainStorage.save(tasks);
+    }
+
+    /**
+     * Removes the files written by the benchmarks.
+     *
+     * @throws IOException If a file cannot be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Marks or unmarks a task and appends the change to the journal.
+     */
+    @Benchmark
+    public void appendChange() throws EinsteinException {
+        int index = toggleNextTask();
+        JournalEntry entry = tasks.get(index).getIsDone() ? JournalEntry.mark(index) : JournalEntry.unmark(index);
+        journaledStorage.saveChanges(tasks, entry);
+    }
+
+    /**
+     * Marks or unmarks a task and atomically rewrites the whole task file.
+     */
+    @Benchmark
+    public void rewriteFile() throws EinsteinException {
+        toggleNextTask();
+        plainStorage.save(tasks);
+    }
+
+    private int toggleNextTask() {
+        int index = nextTask;
+        nextTask = (nextTask + 1) % tasks.size();
+        Task task = tasks.get(index);
+        task.setDone(!task.getIsDone());
+        return index;
+    }
+}
@@ -0,0 +1,59 @@
+package einstein.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import einstein.command.Command;
+import einstein.exception.EinsteinException;
+import einstein.parser.Parser;
+
+/**
+ * Benchmarks parsing one input line for each command keyword.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({
+        "bye",
+        "list",
+        "list 2099-12-02",
+        "mark 1",
+        "unmark 1",
+        "todo read book",
+        "todo read book, write code, go running",
+        "deadline return book /by 2/12/2099 1800",
+        "event project meeting /from 2/12/2099 1400 /to 2/12/2099 1600",
+        "delete 1",
+        "help",
+        "find book",
+        "tag 1 work",
+        "untag 1 work",
+        "priority 1 HIGH",
+        "list done priority high",
+        "tag-query work AND urgent",
+        "clashes"
+    })
+    private String input;
+
+    /**
+     * Parses the input line into a command.
+     */
+    @Benchmark
+    public Command parse() throws EinsteinException {
+        return Parser.parse(input);
+    }
+}
@@ -0,0 +1,113 @@
+package einstein.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import einstein.command.ClashesCommand;
+import einstein.command.Command;
+import einstein.command.FindCommand;
+import einstein.command.ListByDateCommand;
+import einstein.exception.EinsteinException;
+import einstein.storage.Storage;
+import einstein.storage.TaskList;
+import einstein.ui.Ui;
+import einstein.util.DateTimeCodec;
+
+/**
+ * Benchmarks the read-only commands that scan the task list: find, list by date, clashes and list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Path directory;
+    private TaskList tasks;
+    private Ui ui;
+    private Storage storage;
+    private Command findCommand;
+    private Command listByDateCommand;
+    private Command clashesCommand;
+
+    /**
+     * Generates the task list and parses the commands that the benchmarks execute.
+     *
+     * @throws IOException       If the temporary directory cannot be created.
+     * @throws EinsteinException If a command cannot be parsed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EinsteinException {
+        directory = Files.createTempDirectory("einstein-query-benchmark");
+        tasks = new TaskList(new TaskFileGenerator(42).generateTasks(taskCount));
+        ui = new Ui();
+        storage = new Storage(directory.resolve("tasks.txt").toString());
+        findCommand = new FindCommand("find " + TaskFileGenerator.getWord(3));
+        listByDateCommand = new ListByDateCommand("list " + TaskFileGenerator.BASE_DATE.plusDays(100).toLocalDate());
+        clashesCommand = new ClashesCommand("clashes /from "
+                + DateTimeCodec.formatDateTime(TaskFileGenerator.BASE_DATE.plusDays(100).plusHours(9))
+                + " /to " + DateTimeCodec.formatDateTime(TaskFileGenerator.BASE_DATE.plusDays(100).plusHours(17)));
+    }
+
+    /**
+     * Removes the temporary directory.
+     *
+     * @throws IOException If the directory cannot be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Finds the tasks whose description contains a common word.
+     */
+    @Benchmark
+    public String find() throws EinsteinException {
+        return findCommand.execute(tasks, ui, storage);
+    }
+
+    /**
+     * Lists the deadlines and events on a single day.
+     */
+    @Benchmark
+    public String listByDate() throws EinsteinException {
+        return listByDateCommand.execute(tasks, ui, storage);
+    }
+
+    /**
+     * Lists the events overlapping a working day.
+     */
+    @Benchmark
+    public String clashes() throws EinsteinException {
+        return clashesCommand.execute(tasks, ui, storage);
+    }
+
+    /**
+     * Renders the whole task list, as the list command does.
+     */
+    @Benchmark
+    public String showTaskList() {
+        return ui.showTaskList(tasks.getTasks());
+    }
+}
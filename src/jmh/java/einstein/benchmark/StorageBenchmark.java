@@ -0,0 +1,103 @@
+package einstein.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.Storage;
+import einstein.task.Task;
+
+/**
+ * Benchmarks loading and saving whole task files in the text and binary formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({".txt", ".bin"})
+    private String extension;
+
+    private Path directory;
+    private Storage storage;
+    private ArrayList<Task> tasks;
+    private int nextTask;
+
+    /**
+     * Writes the task file that the benchmarks load and overwrite.
+     *
+     * @throws IOException       If the temporary directory cannot be created.
+     * @throws EinsteinException If the task file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EinsteinException {
+        directory = Files.createTempDirectory("einstein-storage-benchmark");
+        Path path = directory.resolve("tasks" + extension);
+        tasks = new TaskFileGenerator(42).writeTaskFile(path, taskCount);
+        storage = new Storage(path.toString());
+    }
+
+    /**
+     * Removes the files written by the benchmarks.
+     *
+     * @throws IOException If a file cannot be removed.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Loads the whole task file.
+     */
+    @Benchmark
+    public ArrayList<Task> load() throws EinsteinException {
+        return storage.load();
+    }
+
+    /**
+     * Saves the whole task list without changing any task, so every task encoding can be reused.
+     */
+    @Benchmark
+    public void saveUnchanged() throws EinsteinException {
+        storage.save(tasks);
+    }
+
+    /**
+     * Changes a single task and saves the whole task list, as a mark or unmark command does.
+     */
+    @Benchmark
+    public void saveOneChanged() throws EinsteinException {
+        Task task = tasks.get(nextTask);
+        nextTask = (nextTask + 1) % tasks.size();
+        task.setDone(!task.getIsDone());
+        storage.save(tasks);
+    }
+}
@@ -0,0 +1,121 @@
+package einstein.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.Storage;
+import einstein.task.Deadline;
+import einstein.task.Event;
+import einstein.task.Priority;
+import einstein.task.Task;
+import einstein.task.Todo;
+
+/**
+ * Generates synthetic task lists and task files for the benchmarks.
+ * The mix of task types, done flags, tags and priorities is fixed by the seed,
+ * so every run of a benchmark sees the same data.
+ */
+public class TaskFileGenerator {
+    /** The first date used for deadlines and events, far enough ahead to never be in the past. */
+    public static final LocalDateTime BASE_DATE = LocalDateTime.of(2099, 1, 1, 0, 0);
+    /** The number of distinct days that generated deadlines and events are spread over. */
+    public static final int DAY_SPAN = 365;
+
+    private static final String[] WORDS = {
+        "read", "write", "book", "code", "review", "meeting", "project", "report", "call", "email",
+        "groceries", "gym", "lecture", "tutorial", "deploy", "release", "fix", "bug", "plan", "draft"
+    };
+    private static final String[] TAGS = {"work", "home", "school", "urgent", "later", "fun"};
+
+    private final Random random;
+
+    /**
+     * Constructs a new TaskFileGenerator.
+     *
+     * @param seed The seed that fixes the generated data.
+     */
+    public TaskFileGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a list of tasks with roughly equal numbers of to-dos, deadlines and events.
+     *
+     * @param count The number of tasks to generate.
+     * @return The generated tasks.
+     */
+    public ArrayList<Task> generateTasks(int count) {
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(generateTask(i));
+        }
+        return tasks;
+    }
+
+    private Task generateTask(int index) {
+        String description = generateDescription(index);
+        LocalDateTime date = BASE_DATE.plusDays(random.nextInt(DAY_SPAN)).plusMinutes(random.nextInt(24 * 60));
+        Task task;
+        switch (index % 3) {
+        case 0:
+            task = new Todo(description);
+            break;
+        case 1:
+            task = new Deadline(description, date);
+            break;
+        default:
+            task = new Event(description, date, date.plusHours(1 + random.nextInt(4)));
+            break;
+        }
+        if (random.nextInt(4) == 0) {
+            task.markAsDone();
+        }
+        if (random.nextInt(3) == 0) {
+            task.addTag(TAGS[random.nextInt(TAGS.length)]);
+        }
+        if (random.nextInt(5) == 0) {
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        }
+        return task;
+    }
+
+    private String generateDescription(int index) {
+        int wordCount = 2 + random.nextInt(4);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return description.append(index).toString();
+    }
+
+    /**
+     * Writes a task file with the given number of generated tasks, in the format selected by its extension.
+     *
+     * @param path  The path of the task file.
+     * @param count The number of tasks to generate.
+     * @return The generated tasks, in file order.
+     * @throws IOException       If leftover files cannot be removed.
+     * @throws EinsteinException If the task file cannot be written.
+     */
+    public ArrayList<Task> writeTaskFile(Path path, int count) throws IOException, EinsteinException {
+        Files.deleteIfExists(path);
+        ArrayList<Task> tasks = generateTasks(count);
+        new Storage(path.toString()).save(tasks);
+        return tasks;
+    }
+
+    /**
+     * Returns a word that appears in generated descriptions, for search benchmarks.
+     *
+     * @param index The index of the word.
+     * @return The word.
+     */
+    public static String getWord(int index) {
+        return WORDS[Math.floorMod(index, WORDS.length)];
+    }
+}
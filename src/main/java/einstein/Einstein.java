@@ -1,16 +1,33 @@
 package einstein;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 import einstein.command.Command;
 import einstein.exception.EinsteinException;
 import einstein.parser.Parser;
+import einstein.server.EinsteinServer;
+import einstein.storage.LoadError;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
+import einstein.storage.WriteBehindWriter;
 import einstein.ui.Ui;
 
 /**
  * The main class for the Einstein task management application.
  */
 public class Einstein {
+    private static final String FILE_PATH = "data/einstein.txt";
+    /** The number of commands run in batch mode between two flushes of the changes to storage. */
+    private static final int BATCH_FLUSH_INTERVAL = 10_000;
+    private static final int BATCH_OUTPUT_BUFFER_SIZE = 1 << 16;
+
     private Storage storage;
     private TaskList tasks;
     private Ui ui;
@@ -23,18 +40,46 @@ public class Einstein {
      * @param filePath The file path for storing tasks.
      */
     public Einstein(String filePath) {
+        this(filePath, WriteBehindWriter.DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Constructs a new Einstein instance whose changes are written behind after the given delay.
+     * Saved tasks that cannot be loaded are moved aside and a new list is started in their place.
+     *
+     * @param filePath         The file path for storing tasks.
+     * @param writeDelayMillis The longest time a change may wait before it is written,
+     *                         or {@link Long#MAX_VALUE} to write changes only when they are flushed.
+     * @throws IllegalStateException If the saved tasks can neither be loaded nor moved aside.
+     */
+    public Einstein(String filePath, long writeDelayMillis) {
         assert filePath != null && !filePath.isEmpty() : "File path cannot be null or empty";
 
         ui = new Ui();
 
-        storage = new Storage(filePath);
+        storage = new Storage(filePath, true);
 
         try {
             tasks = new TaskList(storage.load());
+            for (LoadError error : storage.getLoadErrors()) {
+                ui.showError(error.toString());
+            }
+            if (!storage.getLoadErrors().isEmpty()) {
+                ui.showError("A copy of the file with the skipped lines was kept at "
+                        + storage.getCorruptedCopyPath() + ".");
+            }
         } catch (EinsteinException e) {
             ui.showError(e.getMessage());
+            // Journal records refer to tasks by position, so they must not be written over a stand-in list
+            // while the unreadable file is still there to replay them onto
+            try {
+                ui.showError("Your saved tasks were moved to " + storage.setAside() + " and a new list was started.");
+            } catch (EinsteinException setAsideError) {
+                throw new IllegalStateException(setAsideError.getMessage(), setAsideError);
+            }
             tasks = new TaskList();
         }
+        storage.enableWriteBehind(writeDelayMillis);
     }
 
     /**
@@ -64,6 +109,49 @@ public class Einstein {
         }
     }
 
+    /**
+     * Runs the commands read from the given input one after another without prompting, until the input ends
+     * or {@code bye} is read. The responses are written to the given output, which is only flushed at the end.
+     * Changes are written to storage every ten thousand commands and at the end,
+     * so this is meant for an instance whose changes are only written when flushed.
+     *
+     * @param input  The commands, one per line.
+     * @param output The writer to write the responses to.
+     * @throws IOException       If the commands cannot be read or the responses cannot be written.
+     * @throws EinsteinException If the changes cannot be written to storage.
+     */
+    public void runBatch(BufferedReader input, Writer output) throws IOException, EinsteinException {
+        assert input != null && output != null : "Input and output cannot be null";
+        int commandCount = 0;
+        String line;
+        while ((line = input.readLine()) != null) {
+            String fullCommand = line.trim();
+            if (fullCommand.isEmpty()) {
+                continue;
+            }
+            boolean isExit = false;
+            String result;
+            try {
+                Command c = Parser.parse(fullCommand);
+                isExit = c.isExit();
+                // The exit command would stop the application before the remaining changes are flushed
+                result = isExit ? ui.showFarewell() : c.execute(tasks, ui, storage);
+            } catch (EinsteinException e) {
+                result = ui.showError(e.getMessage());
+            }
+            output.write(result);
+            output.write("\n\n");
+            if (isExit) {
+                break;
+            }
+            if (++commandCount % BATCH_FLUSH_INTERVAL == 0) {
+                storage.flush();
+            }
+        }
+        storage.flush();
+        output.flush();
+    }
+
     /**
      * Generates a response for the user's chat message.
      */
@@ -81,7 +169,57 @@ public class Einstein {
         }
     }
 
+    /**
+     * Serves the task list to many concurrent sessions over a local TCP line protocol instead of the console.
+     *
+     * @param port The port to listen on, or 0 to pick any free port.
+     * @return The started server.
+     * @throws IOException If the port cannot be bound.
+     */
+    public EinsteinServer serve(int port) throws IOException {
+        EinsteinServer server = new EinsteinServer(tasks, ui, storage);
+        int boundPort = server.start(port);
+        System.out.println("Einstein is listening on port " + boundPort);
+        return server;
+    }
+
+    /**
+     * Starts Einstein on the console, as a headless server when run with {@code --server [port]},
+     * or runs the commands of a file, or of the standard input, when run with {@code --batch [file]}.
+     *
+     * @param args The command-line arguments.
+     */
     public static void main(String[] args) {
-        new Einstein("data/einstein.txt").run();
+        String mode = args.length > 0 ? args[0] : "";
+        if (mode.equals("--batch")) {
+            runBatch(args.length > 1 ? args[1] : null);
+            return;
+        }
+        Einstein einstein = new Einstein(FILE_PATH);
+        if (!mode.equals("--server")) {
+            einstein.run();
+            return;
+        }
+        try {
+            einstein.serve(args.length > 1 ? Integer.parseInt(args[1]) : EinsteinServer.DEFAULT_PORT);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid port: " + args[1]);
+        } catch (IOException e) {
+            System.err.println("Could not start the server: " + e.getMessage());
+        }
+    }
+
+    private static void runBatch(String scriptPath) {
+        Einstein einstein = new Einstein(FILE_PATH, Long.MAX_VALUE);
+        Writer output = new BufferedWriter(new OutputStreamWriter(System.out), BATCH_OUTPUT_BUFFER_SIZE);
+        try (BufferedReader input = scriptPath == null
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Paths.get(scriptPath))) {
+            einstein.runBatch(input, output);
+        } catch (IOException e) {
+            System.err.println("Could not run the commands: " + e.getMessage());
+        } catch (EinsteinException e) {
+            System.err.println(e.getMessage());
+        }
     }
 }
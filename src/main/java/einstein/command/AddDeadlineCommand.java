@@ -3,15 +3,16 @@ package einstein.command;
 // Imports for Date and Time
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.task.Deadline;
 import einstein.task.Task;
 import einstein.ui.Ui;
+import einstein.util.DateTimeCodec;
 
 /**
  * Represents a command to add a deadline task in the Einstein task management system.
@@ -64,8 +65,7 @@ public class AddDeadlineCommand implements Command {
     private LocalDateTime parseDateTime(String dateTimeStr) throws EinsteinException {
         assert dateTimeStr != null && !dateTimeStr.isEmpty() : "Date/time string should not be null or empty";
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-            return LocalDateTime.parse(dateTimeStr, formatter);
+            return DateTimeCodec.parseDateTime(dateTimeStr);
         } catch (DateTimeParseException e) {
             throw new EinsteinException("Invalid date/time format! Use: dd/MM/yyyy HHmm (e.g., 2/12/2019 1800)");
         }
@@ -89,7 +89,7 @@ public class AddDeadlineCommand implements Command {
         int originalTaskCount = tasks.getTaskCount();
         tasks.addTask(task);
         assert tasks.getTaskCount() == originalTaskCount + 1 : "Task count should increase by 1";
-        storage.save(tasks.getTasks());
+        storage.saveChanges(tasks.getTasks(), JournalEntry.add(originalTaskCount, task));
         String result = ui.showTaskAdded(task, tasks.getTaskCount());
         assert result != null && !result.isEmpty() : "Result string should not be null or empty";
         return result;
@@ -3,15 +3,17 @@ package einstein.command;
 // Imports for Date and Time
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
+import einstein.storage.QueryResult;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.task.Event;
 import einstein.task.Task;
 import einstein.ui.Ui;
+import einstein.util.DateTimeCodec;
 
 /**
  * Represents a command to add an event task in the Einstein task management system.
@@ -71,8 +73,7 @@ public class AddEventCommand implements Command {
      */
     private LocalDateTime parseDateTime(String dateTimeStr) throws EinsteinException {
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-            LocalDateTime parsedDateTime = LocalDateTime.parse(dateTimeStr, formatter);
+            LocalDateTime parsedDateTime = DateTimeCodec.parseDateTime(dateTimeStr);
             assert parsedDateTime != null : "Parsed date/time should not be null";
             return parsedDateTime;
         } catch (DateTimeParseException e) {
@@ -86,7 +87,7 @@ public class AddEventCommand implements Command {
      * @param tasks   The current list of tasks.
      * @param ui      The user interface for displaying messages.
      * @param storage The storage for saving tasks.
-     * @return A string confirming the addition of the new event task.
+     * @return A string confirming the addition of the new event task, warning about any events it clashes with.
      * @throws EinsteinException If there's an error in adding the task or saving the updated list.
      */
     @Override
@@ -97,10 +98,14 @@ public class AddEventCommand implements Command {
         Task task = new Event(description, from, to);
         assert task != null : "Created task should not be null";
         int originalTaskCount = tasks.getTaskCount();
+        QueryResult<int[]> clashes = tasks.findEventsBetween(from, to);
         tasks.addTask(task);
         assert tasks.getTaskCount() == originalTaskCount + 1 : "Task count should increase by 1";
-        storage.save(tasks.getTasks());
+        storage.saveChanges(tasks.getTasks(), JournalEntry.add(originalTaskCount, task));
         String result = ui.showTaskAdded(task, tasks.getTaskCount());
+        if (clashes.getMatches().length > 0) {
+            result += "\n" + ui.showClashWarning(clashes.getTasks(), clashes.getMatches());
+        }
         assert result != null && !result.isEmpty() : "Result string should not be null or empty";
         return result;
     }
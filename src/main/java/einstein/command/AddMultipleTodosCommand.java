@@ -1,6 +1,10 @@
 package einstein.command;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.task.Task;
@@ -44,17 +48,22 @@ public class AddMultipleTodosCommand implements Command {
         assert storage != null : "Storage cannot be null";
         StringBuilder result = new StringBuilder();
         int initialTaskCount = tasks.getTaskCount();
+        List<Task> addedTasks = new ArrayList<>(descriptions.length);
         for (String description : descriptions) {
             Task task = new Todo(description.trim());
             assert task != null : "Created task should not be null";
-            int beforeAddCount = tasks.getTaskCount();
-            tasks.addTask(task);
-            assert tasks.getTaskCount() == beforeAddCount + 1 : "Task count should increase by 1 for each added task";
-            String addedMessage = ui.showTaskAdded(task, tasks.getTaskCount());
+            addedTasks.add(task);
+        }
+        // Added as a single change, so other sessions never see only some of the tasks
+        tasks.addTasks(addedTasks);
+        JournalEntry[] entries = new JournalEntry[addedTasks.size()];
+        for (int i = 0; i < addedTasks.size(); i++) {
+            entries[i] = JournalEntry.add(initialTaskCount + i, addedTasks.get(i));
+            String addedMessage = ui.showTaskAdded(addedTasks.get(i), initialTaskCount + i + 1);
             assert addedMessage != null && !addedMessage.isEmpty() : "Task added message should not be null or empty";
             result.append(addedMessage).append("\n");
         }
-        storage.save(tasks.getTasks());
+        storage.saveChanges(tasks.getTasks(), entries);
 
         assert tasks.getTaskCount() == initialTaskCount + descriptions.length
                 : "Final task count should match initial count plus number of added tasks";
@@ -1,6 +1,7 @@
 package einstein.command;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.task.Task;
@@ -49,7 +50,7 @@ public class AddTodoCommand implements Command {
         int originalTaskCount = tasks.getTaskCount();
         tasks.addTask(task);
         assert tasks.getTaskCount() == originalTaskCount + 1 : "Task count should increase by 1";
-        storage.save(tasks.getTasks());
+        storage.saveChanges(tasks.getTasks(), JournalEntry.add(originalTaskCount, task));
         String result = ui.showTaskAdded(task, tasks.getTaskCount());
         assert result != null && !result.isEmpty() : "Result string should not be null or empty";
         return result;
@@ -0,0 +1,106 @@
+package einstein.command;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.QueryResult;
+import einstein.storage.Storage;
+import einstein.storage.TaskList;
+import einstein.ui.Ui;
+import einstein.util.DateTimeCodec;
+
+/**
+ * Represents a command to find clashing events in the Einstein task management system.
+ * Without a time span it lists every pair of events that overlap each other;
+ * with {@code /from <start> /to <end>} it lists the events that overlap that span.
+ */
+public class ClashesCommand implements Command {
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /**
+     * Constructs a new ClashesCommand that lists every pair of events that overlap each other.
+     */
+    public ClashesCommand() {
+    }
+
+    /**
+     * Constructs a new ClashesCommand from user input, which is either {@code clashes} on its own
+     * or {@code clashes /from <start> /to <end>}. Any other argument is rejected.
+     *
+     * @param fullCommand The full command string from the user input.
+     * @throws EinsteinException If the arguments are not a time span, or the time span is incomplete,
+     *                           improperly formatted or reversed.
+     */
+    public ClashesCommand(String fullCommand) throws EinsteinException {
+        assert fullCommand != null : "Full command cannot be null";
+        assert fullCommand.startsWith("clashes") : "Command should start with 'clashes'";
+        String args = fullCommand.substring(7).trim();
+        if (args.isEmpty()) {
+            return;
+        }
+        String[] parts = args.split("/from|/to", 3);
+        if (!args.startsWith("/from") || parts.length < 3 || parts[1].trim().isEmpty() || parts[2].trim().isEmpty()) {
+            throw new EinsteinException("Invalid clashes format! Use: clashes [/from <start> /to <end>]");
+        }
+        this.from = parseDateTime(parts[1].trim());
+        this.to = parseDateTime(parts[2].trim());
+        if (to.isBefore(from)) {
+            throw new EinsteinException("The end time must not be before the start time!");
+        }
+    }
+
+    private LocalDateTime parseDateTime(String dateTimeStr) throws EinsteinException {
+        try {
+            return DateTimeCodec.parseDateTime(dateTimeStr);
+        } catch (DateTimeParseException e) {
+            throw new EinsteinException("Invalid date/time format! Use: dd/MM/yyyy HHmm (e.g., 2/12/2019 1800)");
+        }
+    }
+
+    /**
+     * Executes the clashes command, looking up overlapping events in the task list's interval tree.
+     *
+     * @param tasks   The current list of tasks.
+     * @param ui      The user interface for displaying messages.
+     * @param storage The storage for tasks (not used in this command).
+     * @return A string listing the clashing events.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        assert tasks != null : "TaskList cannot be null";
+        assert ui != null : "Ui cannot be null";
+        String result;
+        if (from == null) {
+            QueryResult<List<int[]>> clashes = tasks.findClashes();
+            result = ui.showClashes(clashes.getTasks(), clashes.getMatches());
+        } else {
+            QueryResult<int[]> events = tasks.findEventsBetween(from, to);
+            result = ui.showEventsBetween(events.getTasks(), events.getMatches(), from, to);
+        }
+        assert result != null && !result.isEmpty() : "Result string should not be null or empty";
+        return result;
+    }
+
+    /**
+     * Checks if this command should exit the application.
+     *
+     * @return false, as finding clashes does not exit the application.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -28,4 +28,13 @@ public interface Command {
      * @return true if the command should exit the application, false otherwise.
      */
     boolean isExit();
+
+    /**
+     * Checks if this command only reads the task list, so it can run alongside any other command.
+     *
+     * @return true if the command never changes tasks or storage, false otherwise.
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
 }
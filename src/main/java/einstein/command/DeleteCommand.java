@@ -1,35 +1,40 @@
 package einstein.command;
 
+import java.util.Arrays;
+
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.ui.Ui;
 
 /**
- * Represents a command to delete a task in the Einstein task management system.
+ * Represents a command to delete one or more tasks in the Einstein task management system.
+ * Tasks are named by their numbers or by their ids, such as {@code delete 2 5 #12}, and are all deleted at once.
  */
 public class DeleteCommand implements Command {
-    private int taskIndex;
+    private TaskReference[] taskReferences;
 
     /**
      * Constructs a new DeleteCommand.
      *
      * @param fullCommand The full command string from the user input.
-     * @throws EinsteinException If the task number in the command is invalid.
+     * @throws EinsteinException If a task number or id in the command is invalid.
      */
     public DeleteCommand(String fullCommand) throws EinsteinException {
         assert fullCommand != null : "Full command cannot be null";
         assert fullCommand.startsWith("delete") : "Command should start with 'delete'";
-        try {
-            this.taskIndex = Integer.parseInt(fullCommand.substring(7).trim()) - 1;
-            assert this.taskIndex >= 0 : "Task index must be non-negative";
-        } catch (NumberFormatException e) {
-            throw new EinsteinException("Invalid task number! Please give me something valid!");
+        String[] references = fullCommand.substring(7).trim().split("\\s+");
+        this.taskReferences = new TaskReference[references.length];
+        for (int i = 0; i < references.length; i++) {
+            taskReferences[i] = TaskReference.parse(references[i]);
         }
     }
 
     /**
-     * Executes the delete command, removing the specified task from the task list.
+     * Executes the delete command, removing the specified tasks from the task list in a single pass.
+     * The deletions are journaled from the last task to the first, so that replaying them one by one
+     * removes the same tasks.
      *
      * @param tasks   The current list of tasks.
      * @param ui      The user interface for displaying messages.
@@ -42,11 +47,19 @@ public class DeleteCommand implements Command {
         assert tasks != null : "TaskList cannot be null";
         assert ui != null : "Ui cannot be null";
         assert storage != null : "Storage cannot be null";
-        assert taskIndex < tasks.getTaskCount() : "Task index out of bounds";
+        int[] taskIndexes = new int[taskReferences.length];
+        for (int i = 0; i < taskReferences.length; i++) {
+            taskIndexes[i] = taskReferences[i].resolve(tasks);
+        }
+        taskIndexes = Arrays.stream(taskIndexes).distinct().sorted().toArray();
         int originalTaskCount = tasks.getTaskCount();
-        tasks.deleteTask(taskIndex);
-        assert tasks.getTaskCount() == originalTaskCount - 1 : "Task count should decrease by 1";
-        storage.save(tasks.getTasks());
+        tasks.deleteTasks(taskIndexes);
+        assert tasks.getTaskCount() == originalTaskCount - taskIndexes.length : "Task count should decrease";
+        JournalEntry[] entries = new JournalEntry[taskIndexes.length];
+        for (int i = 0; i < taskIndexes.length; i++) {
+            entries[i] = JournalEntry.delete(taskIndexes[taskIndexes.length - 1 - i]);
+        }
+        storage.saveChanges(tasks.getTasks(), entries);
         String result = "Got it. Deleted!\n" + ui.showTaskList(tasks.getTasks());
         assert result != null && !result.isEmpty() : "Result string should not be null or empty";
         return result;
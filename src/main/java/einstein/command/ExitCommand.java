@@ -13,16 +13,20 @@ public class ExitCommand implements Command {
 
     /**
      * Executes the exit command, displaying a farewell message and closing the application.
+     * Any changes still queued for saving are written before the application exits.
      *
      * @param tasks The current list of tasks (not used in this command).
      * @param ui The user interface for displaying messages.
-     * @param storage The storage for tasks (not used in this command).
+     * @param storage The storage whose queued changes are flushed.
      * @return A string containing the farewell message.
-     * @throws EinsteinException If there's an error in generating or displaying the farewell message.
+     * @throws EinsteinException If there's an error in flushing the queued changes.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws EinsteinException {
         assert ui != null : "UI cannot be null";
+        assert storage != null : "Storage cannot be null";
+
+        storage.flush();
 
         String farewellMessage = ui.showFarewell();
         assert farewellMessage != null && !farewellMessage.isEmpty() : "Farewell message should not be null or empty";
@@ -10,9 +10,14 @@ import einstein.ui.Ui;
 
 /**
  * Represents a command to search for tasks containing a specific keyword.
+ * Tasks match if their descriptions contain every whitespace-separated term of the keyword, ignoring case.
+ * A keyword starting with {@code ~} searches for words similar to the keyword instead, tolerating typos.
  */
 public class FindCommand implements Command {
+    private static final String FUZZY_PREFIX = "~";
+
     private String keyword;
+    private boolean isFuzzy;
 
     /**
      * Constructs a FindCommand with the given user input.
@@ -24,6 +29,10 @@ public class FindCommand implements Command {
         assert fullCommand != null : "Full command cannot be null";
         assert fullCommand.startsWith("find") : "Command should start with 'find'";
         String trimmedCommand = fullCommand.substring(5).trim();
+        this.isFuzzy = trimmedCommand.startsWith(FUZZY_PREFIX);
+        if (isFuzzy) {
+            trimmedCommand = trimmedCommand.substring(FUZZY_PREFIX.length()).trim();
+        }
         if (trimmedCommand.isEmpty()) {
             throw new EinsteinException("Please provide a keyword to search!");
         }
@@ -32,7 +41,8 @@ public class FindCommand implements Command {
     }
 
     /**
-     * Executes the search operation by finding tasks that contain the keyword.
+     * Executes the search operation by looking up the keyword's terms in the task list's search indexes.
+     * Fuzzy matches are listed closest first.
      *
      * @param tasks   The TaskList to search in.
      * @param ui      The UI instance to display results.
@@ -43,13 +53,7 @@ public class FindCommand implements Command {
         assert tasks != null : "TaskList cannot be null";
         assert ui != null : "UI cannot be null";
         assert storage != null : "Storage cannot be null";
-        ArrayList<Task> matchingTasks = new ArrayList<>();
-        for (Task task : tasks.getTasks()) {
-            assert task != null : "Task in TaskList cannot be null";
-            if (task.getDescription().contains(keyword)) {
-                matchingTasks.add(task);
-            }
-        }
+        ArrayList<Task> matchingTasks = isFuzzy ? tasks.findSimilarTasks(keyword) : tasks.findTasks(keyword);
         String result;
         if (matchingTasks.isEmpty()) {
             result = ui.showError("No matching tasks found!");
@@ -70,4 +74,14 @@ public class FindCommand implements Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -34,17 +34,23 @@ public class HelpCommand implements Command {
         output.append("3. event <description> /from <start> /to <end> - Add an event task.\n");
         output.append("   Example: event project meeting /from 2/12/2019 1400 /to 2/12/2019 1600\n\n");
         output.append("4. list - List all tasks.\n");
-        output.append("   Example: list\n\n");
+        output.append("   Example: list\n");
+        output.append("   Add done, pending or priority <level> to list only those tasks. "
+                + "Example: list pending priority high\n\n");
         output.append("5. list <date> - List tasks occurring on a specific date (format: yyyy-MM-dd).\n");
-        output.append("   Example: list 2019-12-02\n\n");
-        output.append("6. find <task name> - List tasks matching the searched name\n");
-        output.append("   Example: list read books\n\n");
+        output.append("   Example: list 2019-12-02\n");
+        output.append("   Add a second date to list a range of dates. Example: list 2019-12-01 2019-12-31\n\n");
+        output.append("6. find <keywords> - List tasks containing all the given keywords, ignoring case.\n");
+        output.append("   Example: find read boo\n");
+        output.append("   Add ~ to tolerate typos, closest matches first. Example: find ~reaad\n\n");
         output.append("7. mark <task number> - Mark a task as done.\n");
         output.append("   Example: mark 1\n\n");
         output.append("8. unmark <task number> - Mark a task as not done.\n");
         output.append("   Example: unmark 1\n\n");
-        output.append("9. delete <task number> - Delete a task.\n");
-        output.append("   Example: delete 1\n\n");
+        output.append("9. delete <task numbers> - Delete one or more tasks.\n");
+        output.append("   Example: delete 1 3\n");
+        output.append("   Any task number can be replaced by the task's id shown by list, which never changes. "
+                + "Example: delete #12\n\n");
         output.append("10. tag <task number> <tag> - Add a tag to a task.\n");
         output.append("   Example: tag 1 fun\n\n");
         output.append("11. untag <task number> <tag> - Remove a tag from a task.\n");
@@ -52,9 +58,14 @@ public class HelpCommand implements Command {
         output.append("12. priority <task number> <uber_high|high|medium|low> "
                 + "\nSet a priority to a task.\n");
         output.append("   Example: priority 1 low\n\n");
-        output.append("13. help - Display this help message.\n");
+        output.append("13. tag-query <tags> - List tasks whose tags match tags joined by AND, OR and NOT.\n");
+        output.append("   Example: tag-query work AND urgent OR home NOT done\n\n");
+        output.append("14. clashes - List every pair of events that overlap in time.\n");
+        output.append("   Add a time span to list the events overlapping it. "
+                + "Example: clashes /from 2/12/2019 1400 /to 2/12/2019 1600\n\n");
+        output.append("15. help - Display this help message.\n");
         output.append("   Example: help\n\n");
-        output.append("14. bye - Exit the program.\n");
+        output.append("16. bye - Exit the program.\n");
         output.append("   Example: bye");
 
         return output.toString();
@@ -69,4 +80,14 @@ public class HelpCommand implements Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -1,49 +1,59 @@
 package einstein.command;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.QueryResult;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.ui.Ui;
+import einstein.util.DateTimeCodec;
 
 /**
- * Represents a command to list tasks for a specific date in the Einstein task management system.
+ * Represents a command to list tasks for a specific date, or for a range of dates,
+ * in the Einstein task management system.
  */
 public class ListByDateCommand implements Command {
-    private LocalDate date;
+    private LocalDate from;
+    private LocalDate to;
 
     /**
      * Constructs a new ListByDateCommand.
      *
      * @param fullCommand The full command string from the user input.
-     * @throws EinsteinException If the date format in the command is invalid.
+     * @throws EinsteinException If the date format in the command is invalid, or the range is reversed.
      */
     public ListByDateCommand(String fullCommand) throws EinsteinException {
         assert fullCommand != null : "Full command cannot be null";
         assert fullCommand.startsWith("list") : "Command should start with 'list'";
 
-        String dateString = fullCommand.substring(5).trim();
-        assert !dateString.isEmpty() : "Date string should not be empty";
+        String[] dateStrings = fullCommand.substring(5).trim().split("\\s+");
+        assert !dateStrings[0].isEmpty() : "Date string should not be empty";
+        if (dateStrings.length > 2) {
+            throw new EinsteinException("Invalid date format! Use: list yyyy-MM-dd [yyyy-MM-dd]");
+        }
 
         try {
-            this.date = LocalDate.parse(dateString, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            this.from = DateTimeCodec.parseDate(dateStrings[0]);
+            this.to = dateStrings.length == 2 ? DateTimeCodec.parseDate(dateStrings[1]) : from;
         } catch (DateTimeParseException e) {
-            throw new EinsteinException("Invalid date format! Use: list yyyy-MM-dd");
+            throw new EinsteinException("Invalid date format! Use: list yyyy-MM-dd [yyyy-MM-dd]");
+        }
+        if (to.isBefore(from)) {
+            throw new EinsteinException("The first date must not be after the second date!");
         }
 
-        assert this.date != null : "Parsed date should not be null";
+        assert this.from != null && this.to != null : "Parsed dates should not be null";
     }
 
     /**
-     * Executes the list by date command, displaying tasks for the specified date.
+     * Executes the list by date command, displaying tasks for the specified dates.
      *
      * @param tasks   The current list of tasks.
      * @param ui      The user interface for displaying messages.
      * @param storage The storage for tasks (not used in this command).
-     * @return A string representation of the tasks occurring on the specified date.
+     * @return A string representation of the tasks occurring on the specified dates.
      * @throws EinsteinException If there's an error in retrieving or displaying the tasks.
      */
     @Override
@@ -52,7 +62,8 @@ public class ListByDateCommand implements Command {
         assert ui != null : "UI cannot be null";
         assert storage != null : "Storage cannot be null";
 
-        String result = ui.showTasksByDate(tasks.getTasks(), date);
+        QueryResult<int[]> matches = tasks.findTasksBetween(from, to);
+        String result = ui.showTasksByDate(matches.getTasks(), matches.getMatches(), from, to);
         assert result != null : "Result string should not be null";
         assert !result.isEmpty() : "Result string should not be empty";
 
@@ -68,4 +79,14 @@ public class ListByDateCommand implements Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
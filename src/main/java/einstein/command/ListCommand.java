@@ -1,6 +1,7 @@
 package einstein.command;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.QueryResult;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.ui.Ui;
@@ -11,7 +12,7 @@ import einstein.ui.Ui;
 public class ListCommand implements Command {
 
     /**
-     * Executes the list command, displaying all tasks in the task list.
+     * Executes the list command, displaying all tasks in the task list with their ids.
      *
      * @param tasks The current list of tasks.
      * @param ui The user interface for displaying messages.
@@ -25,7 +26,8 @@ public class ListCommand implements Command {
         assert ui != null : "UI cannot be null";
         assert storage != null : "Storage cannot be null";
 
-        String result = ui.showTaskList(tasks.getTasks());
+        QueryResult<int[]> listing = tasks.getTasksWithIds();
+        String result = ui.showTaskList(listing.getTasks(), listing.getMatches());
         assert result != null : "Result string should not be null";
         assert !result.isEmpty() : "Result string should not be empty";
 
@@ -41,4 +43,14 @@ public class ListCommand implements Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,101 @@
+package einstein.command;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.QueryResult;
+import einstein.storage.Storage;
+import einstein.storage.TaskList;
+import einstein.task.Priority;
+import einstein.ui.Ui;
+
+/**
+ * Represents a command to list the tasks with a given done status, priority, or both,
+ * such as {@code list pending priority high}.
+ */
+public class ListFilterCommand implements Command {
+    private static final String USAGE = "Use: list [done|pending] [priority <uber_high|high|medium|low>]";
+
+    private String filter;
+    private Boolean isDone;
+    private Priority priority;
+
+    /**
+     * Constructs a ListFilterCommand with the given user input.
+     *
+     * @param fullCommand The full user command string.
+     * @throws EinsteinException If a filter is unknown, repeated or missing its priority.
+     */
+    public ListFilterCommand(String fullCommand) throws EinsteinException {
+        assert fullCommand != null : "Full command cannot be null";
+        assert fullCommand.startsWith("list ") : "Command should start with 'list '";
+        this.filter = fullCommand.substring(5).trim();
+        String[] words = filter.split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i].toLowerCase();
+            if ((word.equals("done") || word.equals("pending")) && isDone == null) {
+                isDone = word.equals("done");
+            } else if (word.equals("priority") && priority == null && i + 1 < words.length) {
+                priority = parsePriority(words[++i]);
+            } else {
+                throw new EinsteinException("Invalid list filter! " + USAGE);
+            }
+        }
+        assert isDone != null || priority != null : "At least one filter should be given";
+    }
+
+    private static Priority parsePriority(String text) throws EinsteinException {
+        try {
+            return Priority.valueOf(text.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new EinsteinException("Invalid priority. Please use 'uber_high', 'high', 'medium', or 'low'.");
+        }
+    }
+
+    /**
+     * Checks if the arguments of a list command start with a filter rather than a date.
+     *
+     * @param fullCommand The full user command string.
+     * @return true if the command filters by done status or priority, false otherwise.
+     */
+    public static boolean isFilter(String fullCommand) {
+        String firstWord = fullCommand.substring(5).trim().split("\\s+", 2)[0].toLowerCase();
+        return firstWord.equals("done") || firstWord.equals("pending") || firstWord.equals("priority");
+    }
+
+    /**
+     * Executes the list filter command, looking up the matching tasks in the task list's bitset indexes.
+     *
+     * @param tasks   The current list of tasks.
+     * @param ui      The user interface for displaying messages.
+     * @param storage The storage for tasks (not used in this command).
+     * @return A string listing the matching tasks.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        assert tasks != null : "TaskList cannot be null";
+        assert ui != null : "Ui cannot be null";
+        QueryResult<int[]> matches = tasks.filterTasks(isDone, priority);
+        String result = ui.showFilteredTasks(matches.getTasks(), matches.getMatches(), filter);
+        assert result != null && !result.isEmpty() : "Result string should not be null or empty";
+        return result;
+    }
+
+    /**
+     * Checks if this command should exit the application.
+     *
+     * @return false, as listing tasks does not exit the application.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package einstein.command;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.ui.Ui;
@@ -9,7 +10,7 @@ import einstein.ui.Ui;
  * Represents a command to remove a tag from a task.
  */
 public class RemoveTagCommand implements Command {
-    private int taskIndex;
+    private TaskReference task;
     private String tag;
 
     /**
@@ -29,15 +30,9 @@ public class RemoveTagCommand implements Command {
             throw new EinsteinException("Invalid untag command. Usage: untag <task_index> <tag>");
         }
 
-        try {
-            this.taskIndex = Integer.parseInt(parts[1]) - 1;
-            assert this.taskIndex >= 0 : "Task index must be non-negative after subtracting 1";
-
-            this.tag = parts[2];
-            assert this.tag != null && !this.tag.trim().isEmpty() : "Tag cannot be null or empty";
-        } catch (NumberFormatException e) {
-            throw new EinsteinException("Invalid task index. Please provide a valid number.");
-        }
+        this.task = TaskReference.parse(parts[1]);
+        this.tag = parts[2];
+        assert this.tag != null && !this.tag.trim().isEmpty() : "Tag cannot be null or empty";
     }
 
     @Override
@@ -46,17 +41,14 @@ public class RemoveTagCommand implements Command {
         assert ui != null : "Ui cannot be null";
         assert storage != null : "Storage cannot be null";
 
-        if (taskIndex < 0 || taskIndex >= tasks.getTaskCount()) {
-            throw new EinsteinException("Invalid task index. Please provide a valid task number.");
-        }
+        int taskIndex = task.resolve(tasks);
 
-        assert tasks.getTasks() != null : "Task list cannot be null";
-        assert tasks.getTasks().get(taskIndex) != null : "Task at given index cannot be null";
+        assert tasks.getTask(taskIndex) != null : "Task at given index cannot be null";
 
-        tasks.getTasks().get(taskIndex).removeTag(tag);
-        storage.save(tasks.getTasks());
+        tasks.removeTaskTag(taskIndex, tag);
+        storage.saveChanges(tasks.getTasks(), JournalEntry.untag(taskIndex, tag));
 
-        String result = ui.showTagRemoved(tasks.getTasks().get(taskIndex), tag);
+        String result = ui.showTagRemoved(tasks.getTask(taskIndex), tag);
         assert result != null : "Result string cannot be null";
         return result;
     }
@@ -1,6 +1,7 @@
 package einstein.command;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.task.Priority;
@@ -10,7 +11,7 @@ import einstein.ui.Ui;
  * Represents a command to set the priority of a task.
  */
 public class SetPriorityCommand implements Command {
-    private int taskIndex;
+    private TaskReference task;
     private Priority priority;
 
     /**
@@ -31,14 +32,10 @@ public class SetPriorityCommand implements Command {
                     + "<uber_high|high|medium|low>");
         }
 
+        this.task = TaskReference.parse(parts[1]);
         try {
-            this.taskIndex = Integer.parseInt(parts[1]) - 1;
-            assert this.taskIndex >= 0 : "Task index must be non-negative after subtracting 1";
-
             this.priority = Priority.valueOf(parts[2].toUpperCase());
             assert this.priority != null : "Priority cannot be null after parsing";
-        } catch (NumberFormatException e) {
-            throw new EinsteinException("Invalid task index. Please provide a valid number.");
         } catch (IllegalArgumentException e) {
             throw new EinsteinException("Invalid priority. Please use 'uber_high', 'high', 'medium', or 'low'.");
         }
@@ -50,17 +47,14 @@ public class SetPriorityCommand implements Command {
         assert ui != null : "Ui cannot be null";
         assert storage != null : "Storage cannot be null";
 
-        if (taskIndex < 0 || taskIndex >= tasks.getTaskCount()) {
-            throw new EinsteinException("Invalid task index. Please provide a valid task number.");
-        }
+        int taskIndex = task.resolve(tasks);
 
-        assert tasks.getTasks() != null : "Task list cannot be null";
-        assert tasks.getTasks().get(taskIndex) != null : "Task at given index cannot be null";
+        assert tasks.getTask(taskIndex) != null : "Task at given index cannot be null";
 
-        tasks.getTasks().get(taskIndex).setPriority(priority);
-        storage.save(tasks.getTasks());
+        tasks.setTaskPriority(taskIndex, priority);
+        storage.saveChanges(tasks.getTasks(), JournalEntry.priority(taskIndex, priority));
 
-        String result = ui.showPrioritySet(tasks.getTasks().get(taskIndex), priority);
+        String result = ui.showPrioritySet(tasks.getTask(taskIndex), priority);
         assert result != null : "Result string cannot be null";
         return result;
     }
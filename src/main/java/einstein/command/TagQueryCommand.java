@@ -0,0 +1,70 @@
+package einstein.command;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.QueryResult;
+import einstein.storage.Storage;
+import einstein.storage.TagQuery;
+import einstein.storage.TaskList;
+import einstein.ui.Ui;
+
+/**
+ * Represents a command to list the tasks whose tags match a boolean query of tags joined by AND, OR and NOT.
+ */
+public class TagQueryCommand implements Command {
+    private String queryString;
+    private TagQuery query;
+
+    /**
+     * Constructs a TagQueryCommand with the given user input.
+     *
+     * @param fullCommand The full user command string.
+     * @throws EinsteinException If the query is missing or malformed.
+     */
+    public TagQueryCommand(String fullCommand) throws EinsteinException {
+        assert fullCommand != null : "Full command cannot be null";
+        assert fullCommand.startsWith("tag-query") : "Command should start with 'tag-query'";
+        this.queryString = fullCommand.substring(9).trim();
+        if (queryString.isEmpty()) {
+            throw new EinsteinException("Please provide tags to query! Use: tag-query <tag> [AND|OR|NOT <tag>]...");
+        }
+        this.query = new TagQuery(queryString);
+    }
+
+    /**
+     * Executes the tag query by evaluating it against the task list's tag index.
+     *
+     * @param tasks   The TaskList to search in.
+     * @param ui      The UI instance to display results.
+     * @param storage The storage handler (not used in this command).
+     * @return A string listing the matching tasks.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        assert tasks != null : "TaskList cannot be null";
+        assert ui != null : "UI cannot be null";
+        QueryResult<int[]> matches = tasks.findTasksWithTags(query);
+        String result = ui.showTasksWithTags(matches.getTasks(), matches.getMatches(), queryString);
+        assert result != null && !result.isEmpty() : "Result string should not be null or empty";
+        return result;
+    }
+
+    /**
+     * Indicates that this command does not exit the application.
+     *
+     * @return false, since querying tags does not terminate the program.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Checks if this command only reads the task list.
+     *
+     * @return true, as this command does not change any tasks.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
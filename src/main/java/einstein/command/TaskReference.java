@@ -0,0 +1,61 @@
+package einstein.command;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.TaskList;
+
+/**
+ * Represents a task named in a command, either by its number in the list, such as {@code 3},
+ * or by its stable id, such as {@code #12}. A task's number changes when an earlier task is deleted,
+ * while its id stays the same for as long as the task exists.
+ */
+public class TaskReference {
+    /** The prefix that marks a task id rather than a task number. */
+    public static final String ID_PREFIX = "#";
+
+    private final int value;
+    private final boolean isId;
+
+    private TaskReference(int value, boolean isId) {
+        this.value = value;
+        this.isId = isId;
+    }
+
+    /**
+     * Parses a task number or a task id prefixed with {@code #}.
+     *
+     * @param text The text to parse.
+     * @return The parsed reference.
+     * @throws EinsteinException If the text is not a positive number, with or without the prefix.
+     */
+    public static TaskReference parse(String text) throws EinsteinException {
+        assert text != null : "Text cannot be null";
+        String trimmed = text.trim();
+        boolean isId = trimmed.startsWith(ID_PREFIX);
+        try {
+            int value = Integer.parseInt(isId ? trimmed.substring(ID_PREFIX.length()) : trimmed);
+            if (value <= 0) {
+                throw new EinsteinException("Invalid task number! Please give me something valid!");
+            }
+            return new TaskReference(value, isId);
+        } catch (NumberFormatException e) {
+            throw new EinsteinException("Invalid task number! Please give me something valid!");
+        }
+    }
+
+    /**
+     * Finds the current index of the referenced task. Ids are looked up in constant time.
+     *
+     * @param tasks The task list to look in.
+     * @return The zero-based index of the task.
+     * @throws EinsteinException If no task has the number or id.
+     */
+    public int resolve(TaskList tasks) throws EinsteinException {
+        if (isId) {
+            return tasks.getIndexById(value);
+        }
+        if (value > tasks.getTaskCount()) {
+            throw new EinsteinException("Invalid task number! Please give me something valid!");
+        }
+        return value - 1;
+    }
+}
@@ -1,6 +1,7 @@
 package einstein.command;
 
 import einstein.exception.EinsteinException;
+import einstein.storage.JournalEntry;
 import einstein.storage.Storage;
 import einstein.storage.TaskList;
 import einstein.ui.Ui;
@@ -9,23 +10,18 @@ import einstein.ui.Ui;
  * Represents a command to mark a task as not done in the Einstein task management system.
  */
 public class UnmarkCommand implements Command {
-    private int taskIndex;
+    private TaskReference task;
 
     /**
      * Constructs a new UnmarkCommand.
      *
      * @param fullCommand The full command string from the user input.
-     * @throws EinsteinException If the task number in the command is invalid.
+     * @throws EinsteinException If the task number or id in the command is invalid.
      */
     public UnmarkCommand(String fullCommand) throws EinsteinException {
         assert fullCommand != null : "Full command cannot be null";
         assert fullCommand.startsWith("unmark") : "Command should start with 'unmark'";
-        try {
-            this.taskIndex = Integer.parseInt(fullCommand.substring(7).trim()) - 1;
-            assert this.taskIndex >= 0 : "Task index must be non-negative";
-        } catch (NumberFormatException e) {
-            throw new EinsteinException("Invalid task number! Please give me something valid!");
-        }
+        this.task = TaskReference.parse(fullCommand.substring(7));
     }
 
     /**
@@ -42,9 +38,9 @@ public class UnmarkCommand implements Command {
         assert tasks != null : "TaskList cannot be null";
         assert ui != null : "UI cannot be null";
         assert storage != null : "Storage cannot be null";
-        assert taskIndex < tasks.getTaskCount() : "Task index out of bounds";
+        int taskIndex = task.resolve(tasks);
         tasks.markTaskAsNotDone(taskIndex);
-        storage.save(tasks.getTasks());
+        storage.saveChanges(tasks.getTasks(), JournalEntry.unmark(taskIndex));
         String result = ui.showTaskList(tasks.getTasks());
         assert result != null : "Result string should not be null";
         assert !result.isEmpty() : "Result string should not be empty";
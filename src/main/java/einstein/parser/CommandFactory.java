@@ -0,0 +1,20 @@
+package einstein.parser;
+
+import einstein.command.Command;
+import einstein.exception.EinsteinException;
+
+/**
+ * Creates the command for a line of user input, once the {@link Parser} has matched its keyword.
+ */
+@FunctionalInterface
+public interface CommandFactory {
+
+    /**
+     * Creates the command for the given input.
+     *
+     * @param fullCommand The full command string entered by the user.
+     * @return The command to execute.
+     * @throws EinsteinException If the arguments of the command are invalid.
+     */
+    Command create(String fullCommand) throws EinsteinException;
+}
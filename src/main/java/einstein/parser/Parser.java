@@ -1,9 +1,14 @@
 package einstein.parser;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import einstein.command.AddDeadlineCommand;
 import einstein.command.AddEventCommand;
 import einstein.command.AddMultipleTodosCommand;
 import einstein.command.AddTagCommand;
+import einstein.command.AddTodoCommand;
+import einstein.command.ClashesCommand;
 import einstein.command.Command;
 import einstein.command.DeleteCommand;
 import einstein.command.ExitCommand;
@@ -11,9 +16,11 @@ import einstein.command.FindCommand;
 import einstein.command.HelpCommand;
 import einstein.command.ListByDateCommand;
 import einstein.command.ListCommand;
+import einstein.command.ListFilterCommand;
 import einstein.command.MarkCommand;
 import einstein.command.RemoveTagCommand;
 import einstein.command.SetPriorityCommand;
+import einstein.command.TagQueryCommand;
 import einstein.command.UnmarkCommand;
 import einstein.exception.EinsteinException;
 
@@ -21,12 +28,63 @@ import einstein.exception.EinsteinException;
  * Parses user input and returns the corresponding command object.
  * This class is responsible for interpreting commands entered by the user
  * and mapping them to their respective execution logic.
+ * Commands are looked up by their keyword in a table of {@link CommandFactory} objects, so parsing costs
+ * the same for every command however many there are, and new commands are added by registering a factory.
+ * A command that is a single word is matched ignoring case against the commands registered without arguments;
+ * otherwise its first word is matched against the commands registered with arguments.
  */
 public class Parser {
+    private static final Map<String, CommandFactory> commandsWithoutArguments = new ConcurrentHashMap<>();
+    private static final Map<String, CommandFactory> commandsWithArguments = new ConcurrentHashMap<>();
+
+    static {
+        registerWithoutArguments("bye", fullCommand -> new ExitCommand());
+        registerWithoutArguments("list", fullCommand -> new ListCommand());
+        registerWithoutArguments("help", fullCommand -> new HelpCommand());
+        registerWithoutArguments("clashes", fullCommand -> new ClashesCommand());
+        register("list", Parser::parseListCommand);
+        register("mark", MarkCommand::new);
+        register("unmark", UnmarkCommand::new);
+        register("todo", Parser::parseTodoCommand);
+        register("deadline", AddDeadlineCommand::new);
+        register("event", AddEventCommand::new);
+        register("delete", DeleteCommand::new);
+        register("find", FindCommand::new);
+        register("tag-query", TagQueryCommand::new);
+        register("tag", AddTagCommand::new);
+        register("untag", RemoveTagCommand::new);
+        register("priority", SetPriorityCommand::new);
+        // Only the optional time span of "clashes /from <start> /to <end>"; ClashesCommand rejects anything else
+        register("clashes", ClashesCommand::new);
+    }
+
+    /**
+     * Registers a command that takes arguments, replacing any command registered with the same keyword.
+     *
+     * @param keyword The first word of the command, which is case-sensitive.
+     * @param factory The factory that creates the command from the full input.
+     */
+    public static void register(String keyword, CommandFactory factory) {
+        assert keyword != null && !keyword.isEmpty() && keyword.indexOf(' ') < 0 : "Keyword must be a single word";
+        assert factory != null : "Factory cannot be null";
+        commandsWithArguments.put(keyword, factory);
+    }
+
+    /**
+     * Registers a command that is a single word, replacing any command registered with the same keyword.
+     *
+     * @param keyword The command, which is matched ignoring case.
+     * @param factory The factory that creates the command from the full input.
+     */
+    public static void registerWithoutArguments(String keyword, CommandFactory factory) {
+        assert keyword != null && !keyword.isEmpty() && keyword.indexOf(' ') < 0 : "Keyword must be a single word";
+        assert factory != null : "Factory cannot be null";
+        commandsWithoutArguments.put(keyword.toLowerCase(), factory);
+    }
 
     /**
      * Parses the user input command and returns the appropriate {@code Command} object.
-     * The method matches the input with predefined commands and creates an instance of
+     * The method looks up the keyword of the input among the registered commands and creates an instance of
      * the respective command class.
      *
      * @param fullCommand The full command string entered by the user.
@@ -36,47 +94,30 @@ public class Parser {
     public static Command parse(String fullCommand) throws EinsteinException {
         assert fullCommand != null : "Full command cannot be null";
         assert !fullCommand.trim().isEmpty() : "Full command cannot be empty";
-        Command command;
 
-        if (fullCommand.equalsIgnoreCase("bye")) {
-            command = new ExitCommand();
-        } else if (fullCommand.equalsIgnoreCase("list")) {
-            command = new ListCommand();
-        } else if (fullCommand.startsWith("list ")) {
-            command = new ListByDateCommand(fullCommand);
-        } else if (fullCommand.startsWith("mark ")) {
-            command = new MarkCommand(fullCommand);
-        } else if (fullCommand.startsWith("unmark ")) {
-            command = new UnmarkCommand(fullCommand);
-        } else if (fullCommand.startsWith("todo ")) {
-            command = parseTodoCommand(fullCommand);
-        } else if (fullCommand.startsWith("deadline ")) {
-            command = new AddDeadlineCommand(fullCommand);
-        } else if (fullCommand.startsWith("event ")) {
-            command = new AddEventCommand(fullCommand);
-        } else if (fullCommand.startsWith("delete ")) {
-            command = new DeleteCommand(fullCommand);
-        } else if (fullCommand.equalsIgnoreCase("help")) {
-            command = new HelpCommand();
-        } else if (fullCommand.startsWith("find ")) {
-            command = new FindCommand(fullCommand);
-        } else if (fullCommand.startsWith("tag ")) {
-            command = new AddTagCommand(fullCommand);
-        } else if (fullCommand.startsWith("untag ")) {
-            command = new RemoveTagCommand(fullCommand);
-        } else if (fullCommand.startsWith("priority ")) {
-            command = new SetPriorityCommand(fullCommand);
-        } else {
+        int keywordEnd = fullCommand.indexOf(' ');
+        CommandFactory factory = keywordEnd < 0
+                ? commandsWithoutArguments.get(fullCommand.toLowerCase())
+                : commandsWithArguments.get(fullCommand.substring(0, keywordEnd));
+        if (factory == null) {
             throw new EinsteinException("ARGH! I do not understand you, which is weird, "
                     + "\nbecause I usually understand most things. Invalid command!");
         }
+        Command command = factory.create(fullCommand);
 
         assert command != null : "Parsed command should not be null";
         return command;
     }
 
+    private static Command parseListCommand(String fullCommand) throws EinsteinException {
+        if (ListFilterCommand.isFilter(fullCommand)) {
+            return new ListFilterCommand(fullCommand);
+        }
+        return new ListByDateCommand(fullCommand);
+    }
+
     /**
-     * Parses the to-do command for multiple todos.
+     * Parses the to-do command, which adds several todos at once if their descriptions are separated by commas.
      *
      * @param fullCommand The full command string entered by the user.
      * @return A {@code Command} object corresponding to the user input.
@@ -87,7 +128,9 @@ public class Parser {
         assert fullCommand.startsWith("todo ") : "Command should start with 'todo '";
 
         String args = fullCommand.substring(5).trim();
-        assert !args.isEmpty() : "Todo command should have arguments";
+        if (args.indexOf(',') < 0) {
+            return new AddTodoCommand(fullCommand);
+        }
 
         // Handle multiple todos
         String[] todos = args.split(","); // Split by commas
@@ -0,0 +1,171 @@
+package einstein.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import einstein.command.Command;
+import einstein.exception.EinsteinException;
+import einstein.parser.Parser;
+import einstein.storage.Storage;
+import einstein.storage.TaskList;
+import einstein.ui.Ui;
+
+/**
+ * Serves one task list to many concurrent sessions over a local TCP line protocol.
+ * A client sends one command per line. Every response is sent as lines of text ended by a line holding
+ * a single {@code .}, and response lines starting with {@code .} get an extra {@code .} in front,
+ * so clients can tell where a response ends. A welcome message is sent when a session starts,
+ * and {@code bye} ends the session rather than the server.
+ * Read-only commands take no server lock: each of their queries reads one consistent version of the task list.
+ * A command that changes tasks finds a task by position, changes it and journals the change by position
+ * in separate calls, so such commands run one at a time to keep the journal in the order the changes were applied.
+ * Read-only commands keep running alongside them.
+ */
+public class EinsteinServer {
+    /** The port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 4000;
+
+    private final TaskList tasks;
+    private final Ui ui;
+    private final Storage storage;
+    private final Lock changeLock = new ReentrantLock();
+    private final ExecutorService sessions = Executors.newCachedThreadPool();
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+
+    /**
+     * Constructs a new EinsteinServer.
+     *
+     * @param tasks   The task list shared by all sessions.
+     * @param ui      The user interface used to format responses.
+     * @param storage The storage that changes are saved to.
+     */
+    public EinsteinServer(TaskList tasks, Ui ui, Storage storage) {
+        assert tasks != null : "TaskList cannot be null";
+        assert ui != null : "Ui cannot be null";
+        assert storage != null : "Storage cannot be null";
+        this.tasks = tasks;
+        this.ui = ui;
+        this.storage = storage;
+    }
+
+    /**
+     * Starts listening on the loopback address and accepts sessions on a background thread.
+     *
+     * @param port The port to listen on, or 0 to pick any free port.
+     * @return The port the server is listening on.
+     * @throws IOException If the port cannot be bound.
+     */
+    public int start(int port) throws IOException {
+        assert serverSocket == null : "Server is already started";
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptSessions, "einstein-acceptor");
+        acceptor.start();
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptSessions() {
+        try {
+            while (true) {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                // Java 17 has no virtual threads, so each session gets a pooled platform thread
+                sessions.execute(() -> serve(socket));
+            }
+        } catch (IOException e) {
+            // The server socket was closed, so no more sessions are accepted
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            send(out, ui.showWelcome());
+            String line;
+            while ((line = in.readLine()) != null) {
+                String input = line.trim();
+                if (input.isEmpty()) {
+                    continue;
+                }
+                boolean isExit = false;
+                String response;
+                try {
+                    Command command = Parser.parse(input);
+                    isExit = command.isExit();
+                    response = isExit ? ui.showFarewell() : execute(command);
+                } catch (EinsteinException e) {
+                    response = ui.showError(e.getMessage());
+                }
+                send(out, response);
+                if (isExit) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; there is nothing left to clean up but the socket
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    private String execute(Command command) throws EinsteinException {
+        if (command.isReadOnly()) {
+            return command.execute(tasks, ui, storage);
+        }
+        changeLock.lock();
+        try {
+            return command.execute(tasks, ui, storage);
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private static void send(Writer out, String message) throws IOException {
+        for (String line : message.stripTrailing().split("\n", -1)) {
+            if (line.startsWith(".")) {
+                out.write('.');
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(".\n");
+        out.flush();
+    }
+
+    /**
+     * Stops accepting sessions, closes the open ones and writes any changes still queued for saving.
+     *
+     * @throws EinsteinException If the queued changes cannot be written.
+     */
+    public void stop() throws EinsteinException {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+            for (Socket socket : openSockets) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            // Closing sockets that are already broken cannot fail in a way that matters here
+        }
+        sessions.shutdown();
+        storage.flush();
+    }
+}
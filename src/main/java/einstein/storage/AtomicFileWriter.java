@@ -0,0 +1,81 @@
+package einstein.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes files so that a crash never leaves a partially written file behind.
+ * Data is written to a temporary file next to the target, optionally forced to disk,
+ * and then atomically moved over the target.
+ */
+public class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Atomically replaces the target file with the given data.
+     *
+     * @param target   The file to replace.
+     * @param data     The new contents of the file.
+     * @param isForced Whether the data must be on disk before this method returns.
+     * @throws IOException If the file cannot be written or moved.
+     */
+    public static void write(Path target, byte[] data, boolean isForced) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        writeFile(temp, data, isForced);
+        move(temp, target, isForced);
+    }
+
+    /**
+     * Writes the given data to a file in place, replacing its contents.
+     *
+     * @param path     The file to write.
+     * @param data     The new contents of the file.
+     * @param isForced Whether the data must be on disk before this method returns.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeFile(Path path, byte[] data, boolean isForced) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isForced) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Atomically moves the source file over the target file.
+     *
+     * @param source   The file to move.
+     * @param target   The file to replace.
+     * @param isForced Whether the rename must be on disk before this method returns.
+     * @throws IOException If the file cannot be moved.
+     */
+    public static void move(Path source, Path target, boolean isForced) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isForced) {
+            forceDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory for syncing; the rename is still atomic there
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package einstein.storage;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import einstein.exception.EinsteinException;
+import einstein.task.Deadline;
+import einstein.task.Event;
+import einstein.task.Priority;
+import einstein.task.TagDictionary;
+import einstein.task.Task;
+import einstein.task.Todo;
+import einstein.util.DateTimeCodec;
+
+/**
+ * Encodes and decodes task files in the compact binary format used for files ending in {@code .bin}.
+ * The file starts with a magic number, a version and a dictionary of every tag in use, followed by one
+ * record per task: a type byte, a flags byte, a priority byte, the dates as epoch minutes,
+ * the length-prefixed UTF-8 description and the dictionary ids of the task's tags.
+ * The file ends with the CRC32C checksum of every byte before it.
+ */
+public class BinaryTaskFormat {
+    /** The file extension that selects the binary format. */
+    public static final String EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x45494E42; // "EINB"
+    private static final byte VERSION = 1;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final byte DONE_FLAG = 1;
+    private static final byte NO_PRIORITY = 0;
+
+    /**
+     * Encodes the given tasks into the binary format.
+     *
+     * @param tasks The tasks to encode.
+     * @return The encoded file contents.
+     */
+    public static byte[] encode(List<Task> tasks) {
+        assert tasks != null : "Tasks list cannot be null";
+        Map<Integer, Integer> fileTagIds = new HashMap<>();
+        List<byte[]> tagBytes = new ArrayList<>();
+        List<byte[]> descriptions = new ArrayList<>(tasks.size());
+        List<int[]> taskTagIds = new ArrayList<>(tasks.size());
+        int size = Integer.BYTES + 1 + Integer.BYTES + Integer.BYTES + Integer.BYTES;
+        for (Task task : tasks) {
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            int[] tagIds = task.getTagIds();
+            descriptions.add(description);
+            taskTagIds.add(tagIds);
+            size += getRecordSize(task, description, tagIds);
+            for (int tagId : tagIds) {
+                if (!fileTagIds.containsKey(tagId)) {
+                    byte[] bytes = TagDictionary.getTag(tagId).getBytes(StandardCharsets.UTF_8);
+                    fileTagIds.put(tagId, tagBytes.size());
+                    tagBytes.add(bytes);
+                    size += Integer.BYTES + bytes.length;
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).put(VERSION);
+        buffer.putInt(tagBytes.size());
+        for (byte[] bytes : tagBytes) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        buffer.putInt(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            encodeTask(buffer, tasks.get(i), descriptions.get(i), taskTagIds.get(i), fileTagIds);
+        }
+        buffer.putInt((int) computeChecksum(buffer.array(), buffer.position()));
+        assert !buffer.hasRemaining() : "Encoded size should match the computed size";
+        return buffer.array();
+    }
+
+    private static int getRecordSize(Task task, byte[] description, int[] tagIds) {
+        int dateCount = task instanceof Event ? 2 : task instanceof Deadline ? 1 : 0;
+        return 3 + dateCount * Long.BYTES + Integer.BYTES + description.length
+                + Integer.BYTES + tagIds.length * Integer.BYTES;
+    }
+
+    private static void encodeTask(ByteBuffer buffer, Task task, byte[] description, int[] tagIds,
+            Map<Integer, Integer> fileTagIds) {
+        Priority priority = task.getPriority();
+        buffer.put(getTypeByte(task))
+                .put(task.getIsDone() ? DONE_FLAG : 0)
+                .put(priority == null ? NO_PRIORITY : (byte) (priority.ordinal() + 1));
+        if (task instanceof Deadline) {
+            buffer.putLong(DateTimeCodec.toEpochMinute(((Deadline) task).getBy()));
+        } else if (task instanceof Event) {
+            buffer.putLong(DateTimeCodec.toEpochMinute(((Event) task).getFrom()));
+            buffer.putLong(DateTimeCodec.toEpochMinute(((Event) task).getTo()));
+        }
+        buffer.putInt(description.length).put(description);
+        buffer.putInt(tagIds.length);
+        for (int tagId : tagIds) {
+            buffer.putInt(fileTagIds.get(tagId));
+        }
+    }
+
+    private static byte getTypeByte(Task task) {
+        if (task instanceof Deadline) {
+            return DEADLINE;
+        } else if (task instanceof Event) {
+            return EVENT;
+        } else {
+            return TODO;
+        }
+    }
+
+    /**
+     * Decodes tasks from the binary format.
+     *
+     * @param data The file contents.
+     * @return The decoded tasks, in file order.
+     * @throws EinsteinException If the data is not a valid binary task file or its checksum does not match.
+     */
+    public static ArrayList<Task> decode(byte[] data) throws EinsteinException {
+        assert data != null : "Data cannot be null";
+        verifyChecksum(data);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data, 0, data.length - Integer.BYTES);
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new EinsteinException("Unrecognised binary task file format.");
+            }
+            String[] tags = new String[readCount(buffer)];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = readString(buffer, data);
+            }
+            int taskCount = readCount(buffer);
+            ArrayList<Task> tasks = new ArrayList<>(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(decodeTask(buffer, data, tags));
+            }
+            return tasks;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new EinsteinException("Corrupted binary task file found.");
+        }
+    }
+
+    private static void verifyChecksum(byte[] data) throws EinsteinException {
+        int dataLength = data.length - Integer.BYTES;
+        if (dataLength < 0) {
+            throw new EinsteinException("Corrupted binary task file found.");
+        }
+        int expected = ByteBuffer.wrap(data, dataLength, Integer.BYTES).getInt();
+        if ((int) computeChecksum(data, dataLength) != expected) {
+            throw new EinsteinException("Task file is corrupted: its checksum does not match its contents.");
+        }
+    }
+
+    private static long computeChecksum(byte[] data, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+
+    private static int readCount(ByteBuffer buffer) throws EinsteinException {
+        int count = buffer.getInt();
+        // Every counted item takes at least one byte, so a larger count can only come from corruption
+        if (count < 0 || count > buffer.remaining()) {
+            throw new EinsteinException("Corrupted binary task file found.");
+        }
+        return count;
+    }
+
+    private static Task decodeTask(ByteBuffer buffer, byte[] data, String[] tags) throws EinsteinException {
+        byte type = buffer.get();
+        byte flags = buffer.get();
+        byte priority = buffer.get();
+        LocalDateTime first = type == DEADLINE || type == EVENT
+                ? DateTimeCodec.fromEpochMinute(buffer.getLong())
+                : null;
+        LocalDateTime second = type == EVENT ? DateTimeCodec.fromEpochMinute(buffer.getLong()) : null;
+        String description = readString(buffer, data);
+
+        Task task;
+        switch (type) {
+        case TODO:
+            task = new Todo(description);
+            break;
+        case DEADLINE:
+            task = new Deadline(description, first);
+            break;
+        case EVENT:
+            task = new Event(description, first, second);
+            break;
+        default:
+            throw new EinsteinException("Unknown task type found in binary task file: " + type);
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        if (priority != NO_PRIORITY) {
+            task.setPriority(Priority.values()[priority - 1]);
+        }
+        int tagCount = buffer.getInt();
+        for (int i = 0; i < tagCount; i++) {
+            task.addTag(tags[buffer.getInt()]);
+        }
+        return task;
+    }
+
+    private static String readString(ByteBuffer buffer, byte[] data) {
+        int length = buffer.getInt();
+        int offset = buffer.position();
+        buffer.position(offset + length);
+        return new String(data, offset, length, StandardCharsets.UTF_8);
+    }
+}
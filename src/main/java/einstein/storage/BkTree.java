@@ -0,0 +1,156 @@
+package einstein.storage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Represents a BK-tree of words, which finds every word within an edit distance of a query word
+ * while visiting only a fraction of the words. Each child of a node is keyed by its edit distance
+ * to the node, so by the triangle inequality only children keyed within the search radius of the
+ * query's distance to the node can hold matches.
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+
+    /**
+     * Represents a word in the tree and its children, keyed by their distance to the word.
+     */
+    private static class Node {
+        private final String word;
+        private int[] distances = new int[0];
+        private Node[] children = new Node[0];
+
+        Node(String word) {
+            this.word = word;
+        }
+
+        Node getChild(int distance) {
+            for (int i = 0; i < distances.length; i++) {
+                if (distances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(int distance, Node child) {
+            distances = Arrays.copyOf(distances, distances.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            distances[distances.length - 1] = distance;
+            children[children.length - 1] = child;
+        }
+    }
+
+    /**
+     * Represents a word found by a search and its edit distance to the query word.
+     */
+    public static class Match {
+        private final String word;
+        private final int distance;
+
+        Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+
+        public String getWord() {
+            return word;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Adds a word to the tree if it is not in the tree yet.
+     *
+     * @param word The word to add.
+     */
+    public void add(String word) {
+        assert word != null : "Word cannot be null";
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = getDistance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds every word within the given edit distance of the query word.
+     *
+     * @param word        The query word.
+     * @param maxDistance The largest edit distance allowed.
+     * @return The matching words with their distances, in no particular order.
+     */
+    public List<Match> search(String word, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = getDistance(word, node.word);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.word, distance));
+            }
+            for (int i = 0; i < node.distances.length; i++) {
+                if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words.
+     *
+     * @param first  The first word.
+     * @param second The second word.
+     * @return The smallest number of single-character insertions, deletions and substitutions
+     *         that turn one word into the other.
+     */
+    public static int getDistance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length()];
+    }
+}
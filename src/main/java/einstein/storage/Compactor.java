@@ -0,0 +1,168 @@
+package einstein.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import einstein.exception.EinsteinException;
+import einstein.task.Task;
+
+/**
+ * Folds the storage journal back into the task file on a background thread.
+ * Compaction seals the live journal, writes the task file plus the sealed records to a temporary file,
+ * promotes it to a ready file, drops the sealed journal and finally moves the ready file over the task file.
+ * Every step is a single atomic file operation, so {@link #recover()} can always finish or discard an
+ * interrupted compaction without losing or replaying a change twice.
+ * Unless the durability policy is {@link DurabilityPolicy#NEVER}, the ready file is forced to disk before
+ * anything that depends on it is removed.
+ * Dropping the sealed journal is only safe because both task file formats hold every field a journal record
+ * can change, including tags and priority.
+ */
+public class Compactor {
+    /** The number of journal records that triggers a compaction. */
+    public static final int DEFAULT_MAX_RECORDS = 1000;
+    /** The journal size in bytes that triggers a compaction. */
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String READY_SUFFIX = ".ready";
+
+    private final Storage storage;
+    private final Journal journal;
+    private final Path filePath;
+    private final Path tempPath;
+    private final Path readyPath;
+    private final int maxRecords;
+    private final long maxBytes;
+    private final boolean isForced;
+    private final Object lock = new Object();
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "einstein-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new Compactor for the given storage and journal.
+     *
+     * @param storage          The storage whose task file is compacted.
+     * @param journal          The journal whose records are folded into the task file.
+     * @param filePath         The path to the task file.
+     * @param maxRecords       The number of journal records that triggers a compaction.
+     * @param maxBytes         The journal size in bytes that triggers a compaction.
+     * @param durabilityPolicy How eagerly written files are forced to disk.
+     */
+    public Compactor(Storage storage, Journal journal, String filePath, int maxRecords, long maxBytes,
+            DurabilityPolicy durabilityPolicy) {
+        assert storage != null : "Storage cannot be null";
+        assert journal != null : "Journal cannot be null";
+        assert maxRecords > 0 && maxBytes > 0 : "Compaction thresholds must be positive";
+        this.storage = storage;
+        this.journal = journal;
+        this.filePath = Paths.get(filePath);
+        this.tempPath = Paths.get(filePath + TEMP_SUFFIX);
+        this.readyPath = Paths.get(filePath + READY_SUFFIX);
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+        this.isForced = durabilityPolicy != DurabilityPolicy.NEVER;
+    }
+
+    /**
+     * Finishes or discards a compaction interrupted by a crash. Must be called before the task file is read.
+     *
+     * @throws IOException If the leftover files cannot be cleaned up.
+     */
+    public void recover() throws IOException {
+        synchronized (lock) {
+            Files.deleteIfExists(tempPath);
+            if (Files.exists(readyPath)) {
+                // The ready file already contains the sealed records
+                journal.clearSealed();
+                AtomicFileWriter.move(readyPath, filePath, isForced);
+            }
+        }
+    }
+
+    /**
+     * Schedules a background compaction if the journal has grown past the configured thresholds
+     * or a sealed journal is still waiting to be compacted.
+     */
+    public void compactIfNeeded() {
+        boolean isOverThreshold = journal.getRecordCount() >= maxRecords || journal.getByteCount() >= maxBytes;
+        if (!isOverThreshold && !journal.hasSealedRecords()) {
+            return;
+        }
+        if (isScheduled.compareAndSet(false, true)) {
+            executor.submit(this::runScheduledCompaction);
+        }
+    }
+
+    private void runScheduledCompaction() {
+        try {
+            compact();
+        } catch (IOException | EinsteinException e) {
+            // The sealed journal is kept when compaction fails, so no change is lost and the next run retries
+        } finally {
+            isScheduled.set(false);
+        }
+    }
+
+    /**
+     * Compacts the journal into the task file on the calling thread.
+     *
+     * @throws IOException       If a file cannot be read, written or moved.
+     * @throws EinsteinException If the task file fails its checksum or the sealed journal contains corrupted data.
+     */
+    public void compact() throws IOException, EinsteinException {
+        synchronized (lock) {
+            journal.seal();
+            if (!journal.hasSealedRecords()) {
+                return;
+            }
+            // Skips corrupted lines the same way loading does, since that is the list the journal was written against
+            ArrayList<Task> tasks = storage.readTaskFile(new ArrayList<>());
+            storage.replayRecords(tasks, journal.readSealedRecords());
+            writeReadyFile(storage.encodeTaskFile(tasks));
+            journal.clearSealed();
+            AtomicFileWriter.move(readyPath, filePath, isForced);
+        }
+    }
+
+    /**
+     * Replaces the task file with the given data and clears the journal, waiting for any running compaction.
+     *
+     * @param data The full contents of the new task file.
+     * @throws IOException If a file cannot be written or moved.
+     */
+    public void checkpoint(byte[] data) throws IOException {
+        synchronized (lock) {
+            writeReadyFile(data);
+            journal.clear();
+            AtomicFileWriter.move(readyPath, filePath, isForced);
+        }
+    }
+
+    /**
+     * Waits for a scheduled compaction to finish.
+     *
+     * @throws InterruptedException If the wait is interrupted.
+     * @throws ExecutionException   If the wait cannot be scheduled on the compaction thread.
+     */
+    public void awaitIdle() throws InterruptedException, ExecutionException {
+        Future<?> marker = executor.submit(() -> { });
+        marker.get();
+    }
+
+    private void writeReadyFile(byte[] data) throws IOException {
+        AtomicFileWriter.writeFile(tempPath, data, isForced);
+        AtomicFileWriter.move(tempPath, readyPath, isForced);
+    }
+}
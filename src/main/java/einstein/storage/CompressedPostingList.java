@@ -0,0 +1,139 @@
+package einstein.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents a sorted list of internal task ids stored as variable-length encoded gaps between ids.
+ * Most gaps in a busy list fit in one or two bytes instead of four, which matters for indexes
+ * such as the trigram index that hold dozens of ids per task.
+ * Appending an id greater than every id in the list is cheap; any other change re-encodes the list.
+ */
+public class CompressedPostingList {
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private int lastId = -1;
+
+    /**
+     * Adds the given id if it is not in the list yet.
+     *
+     * @param id The id to add.
+     */
+    public void add(int id) {
+        assert id >= 0 : "Id cannot be negative";
+        if (id > lastId) {
+            append(id);
+            return;
+        }
+        int[] ids = decode();
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, position);
+        updated[position] = id;
+        System.arraycopy(ids, position, updated, position + 1, ids.length - position);
+        encode(updated, updated.length);
+    }
+
+    /**
+     * Removes the given id if it is in the list.
+     *
+     * @param id The id to remove.
+     */
+    public void remove(int id) {
+        int[] ids = decode();
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, ids.length - position - 1);
+        encode(ids, ids.length - 1);
+    }
+
+    /**
+     * Removes every id in the given set, decoding and re-encoding the list once.
+     *
+     * @param removed The ids to remove.
+     */
+    public void removeAll(BitSet removed) {
+        int[] ids = decode();
+        int count = 0;
+        for (int id : ids) {
+            if (!removed.get(id)) {
+                ids[count++] = id;
+            }
+        }
+        if (count < ids.length) {
+            encode(ids, count);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of bytes used to hold the encoded ids.
+     *
+     * @return The capacity of the encoded id buffer.
+     */
+    public int getCapacity() {
+        return data.length;
+    }
+
+    /**
+     * Decodes all ids in the list.
+     *
+     * @return The ids in increasing order.
+     */
+    public int[] decode() {
+        int[] ids = new int[size];
+        int id = -1;
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte value;
+            do {
+                value = data[offset++];
+                gap |= (value & 0x7F) << shift;
+                shift += 7;
+            } while (value < 0);
+            id += gap;
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    private void encode(int[] ids, int count) {
+        data = new byte[Math.max(4, count * 2)];
+        length = 0;
+        size = 0;
+        lastId = -1;
+        for (int i = 0; i < count; i++) {
+            append(ids[i]);
+        }
+    }
+
+    private void append(int id) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, data.length + (data.length >> 1) + 5);
+        }
+        int gap = id - lastId;
+        while ((gap & ~0x7F) != 0) {
+            data[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        data[length++] = (byte) gap;
+        lastId = id;
+        size++;
+    }
+}
@@ -0,0 +1,90 @@
+package einstein.storage;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import einstein.task.Deadline;
+import einstein.task.Event;
+import einstein.task.Task;
+
+/**
+ * Maps every date that a deadline is due on, or that an event starts or ends on, to the ids of those tasks.
+ * The dates are kept sorted, so the tasks on a day or in a range of days are found in O(log n + k).
+ */
+public class DateIndex {
+    private final NavigableMap<LocalDate, PostingList> postings = new TreeMap<>();
+
+    /**
+     * Indexes the dates of a task. Tasks without dates are ignored.
+     *
+     * @param id   The internal id of the task.
+     * @param task The task.
+     */
+    public void add(int id, Task task) {
+        for (LocalDate date : getDates(task)) {
+            postings.computeIfAbsent(date, key -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the given tasks from the index in a single pass over the posting lists.
+     *
+     * @param ids The internal ids of the tasks to remove.
+     */
+    public void removeAll(BitSet ids) {
+        postings.values().removeIf(list -> {
+            list.removeAll(ids);
+            return list.isEmpty();
+        });
+    }
+
+    /**
+     * Finds the tasks with a date between the given dates.
+     *
+     * @param from The first date, inclusive.
+     * @param to   The last date, inclusive.
+     * @return The ids of the matching tasks in increasing order.
+     */
+    public int[] find(LocalDate from, LocalDate to) {
+        assert !to.isBefore(from) : "End date cannot be before start date";
+        NavigableMap<LocalDate, PostingList> range = postings.subMap(from, true, to, true);
+        int count = 0;
+        for (PostingList list : range.values()) {
+            count += list.size();
+        }
+        int[] ids = new int[count];
+        int offset = 0;
+        for (PostingList list : range.values()) {
+            for (int i = 0; i < list.size(); i++) {
+                ids[offset++] = list.get(i);
+            }
+        }
+        if (range.size() <= 1) {
+            return ids;
+        }
+        // An event starting and ending on different days in the range is listed under both days
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    private static LocalDate[] getDates(Task task) {
+        if (task instanceof Deadline) {
+            return new LocalDate[] {((Deadline) task).getBy().toLocalDate()};
+        } else if (task instanceof Event) {
+            LocalDate from = ((Event) task).getFrom().toLocalDate();
+            LocalDate to = ((Event) task).getTo().toLocalDate();
+            return from.equals(to) ? new LocalDate[] {from} : new LocalDate[] {from, to};
+        } else {
+            return new LocalDate[0];
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package einstein.storage;
+
+/**
+ * Represents how eagerly saved data is forced from the operating system's cache onto the disk,
+ * trading save latency for how much can be lost if the machine crashes.
+ */
+public enum DurabilityPolicy {
+    /** Every journal append and every task file write is forced to disk before returning. */
+    ALWAYS,
+    /** Task file writes are forced; journal appends are forced in batches and on flush. */
+    BATCHED,
+    /** Nothing is forced; the operating system decides when data reaches the disk. */
+    NEVER
+}
@@ -0,0 +1,243 @@
+package einstein.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores the time spans of events in a balanced search tree ordered by start time, where every node also
+ * records the latest end time in its subtree. Subtrees that end before a queried span, or start after it,
+ * are skipped, so the events overlapping a span are found in O(log n + k).
+ * Spans are half-open: an event ending at the minute another starts does not overlap it.
+ */
+public class IntervalTree {
+    private Node root;
+    private int size;
+
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(int id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        private int compareTo(long otherStart, int otherId) {
+            int result = Long.compare(start, otherStart);
+            return result != 0 ? result : Integer.compare(id, otherId);
+        }
+    }
+
+    /**
+     * Adds the span of a task.
+     *
+     * @param id    The internal id of the task.
+     * @param start The start of the span, in epoch minutes.
+     * @param end   The end of the span, in epoch minutes.
+     */
+    public void add(int id, long start, long end) {
+        assert end >= start : "Span cannot end before it starts";
+        root = insert(root, new Node(id, start, end));
+        size++;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        int comparison = node.compareTo(added.start, added.id);
+        assert comparison != 0 : "Span of a task cannot be added twice";
+        if (comparison > 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Removes the span of a task, if it is in the tree.
+     *
+     * @param id    The internal id of the task.
+     * @param start The start of the span the task was added with.
+     */
+    public void remove(int id, long start) {
+        root = delete(root, start, id);
+    }
+
+    private Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = node.compareTo(start, id);
+        if (comparison > 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison < 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null || node.right == null) {
+                return node.left != null ? node.left : node.right;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.id, successor.start, successor.end);
+            replacement.left = node.left;
+            replacement.right = removeFirst(node.right);
+            node = replacement;
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return rebalance(node);
+    }
+
+    /**
+     * Finds the tasks whose spans overlap the given span.
+     *
+     * @param start The start of the span, in epoch minutes.
+     * @param end   The end of the span, in epoch minutes.
+     * @return The ids of the overlapping tasks in increasing order.
+     */
+    public int[] findOverlapping(long start, long end) {
+        IdCollector collector = new IdCollector();
+        collect(root, start, end, collector);
+        return collector.toSortedArray();
+    }
+
+    private static void collect(Node node, long start, long end, IdCollector collector) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, collector);
+        if (node.start >= end) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (node.end > start) {
+            collector.add(node.id);
+        }
+        collect(node.right, start, end, collector);
+    }
+
+    /**
+     * Finds every pair of tasks whose spans overlap each other.
+     *
+     * @return The pairs of ids, each with the smaller id first, ordered by their first and then second id.
+     */
+    public List<int[]> findOverlappingPairs() {
+        List<Node> nodes = new ArrayList<>(size);
+        addInOrder(root, nodes);
+        List<int[]> pairs = new ArrayList<>();
+        for (Node node : nodes) {
+            for (int other : findOverlapping(node.start, node.end)) {
+                if (other > node.id) {
+                    pairs.add(new int[] {node.id, other});
+                }
+            }
+        }
+        pairs.sort((first, second) -> first[0] != second[0]
+                ? Integer.compare(first[0], second[0])
+                : Integer.compare(first[1], second[1]));
+        return pairs;
+    }
+
+    private static void addInOrder(Node node, List<Node> nodes) {
+        if (node == null) {
+            return;
+        }
+        addInOrder(node.left, nodes);
+        nodes.add(node);
+        addInOrder(node.right, nodes);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int getHeight(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = getHeight(node.left) - getHeight(node.right);
+        if (balance > 1) {
+            if (getHeight(node.left.left) < getHeight(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (getHeight(node.right.right) < getHeight(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    /**
+     * Collects ids into a growable array.
+     */
+    private static class IdCollector {
+        private int[] ids = new int[8];
+        private int count;
+
+        private void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+
+        private int[] toSortedArray() {
+            int[] result = Arrays.copyOf(ids, count);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
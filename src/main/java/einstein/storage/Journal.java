@@ -0,0 +1,202 @@
+package einstein.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manages the append-only log of task list mutations kept next to the task file.
+ * Each record is a single line, so appending a mutation costs the same regardless of the list size.
+ * During compaction the live log is sealed under a separate name so new records can keep being
+ * appended while the sealed records are folded into the task file.
+ * Appends are forced to disk according to the journal's {@link DurabilityPolicy}.
+ */
+public class Journal {
+    /** The number of records appended under {@link DurabilityPolicy#BATCHED} before they are forced to disk. */
+    public static final int BATCH_SIZE = 64;
+
+    private static final String SEALED_SUFFIX = ".sealed";
+
+    private final Path path;
+    private final Path sealedPath;
+    private final DurabilityPolicy durabilityPolicy;
+    private int recordCount;
+    private long byteCount;
+    private int unforcedCount;
+
+    /**
+     * Constructs a new Journal backed by the given file.
+     *
+     * @param path             The path to the journal file.
+     * @param durabilityPolicy How eagerly appended records are forced to disk.
+     */
+    public Journal(String path, DurabilityPolicy durabilityPolicy) {
+        assert path != null && !path.isEmpty() : "Journal path cannot be null or empty";
+        assert durabilityPolicy != null : "Durability policy cannot be null";
+        this.path = Paths.get(path);
+        this.sealedPath = Paths.get(path + SEALED_SUFFIX);
+        this.durabilityPolicy = durabilityPolicy;
+    }
+
+    /**
+     * Appends the given records to the end of the journal, one per line.
+     *
+     * @param records The encoded records to append.
+     * @throws IOException If the journal cannot be written.
+     */
+    public synchronized void append(List<String> records) throws IOException {
+        assert records != null : "Records cannot be null";
+        StringBuilder data = new StringBuilder();
+        for (String record : records) {
+            assert !record.contains("\n") : "Journal record cannot span multiple lines";
+            data.append(record).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(data.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            unforcedCount += records.size();
+            boolean isBatchFull = durabilityPolicy == DurabilityPolicy.BATCHED && unforcedCount >= BATCH_SIZE;
+            if (durabilityPolicy == DurabilityPolicy.ALWAYS || isBatchFull) {
+                channel.force(false);
+                unforcedCount = 0;
+            }
+        }
+        recordCount += records.size();
+        byteCount += bytes.capacity();
+    }
+
+    /**
+     * Forces records appended since the last force to disk, unless the policy leaves that to the operating system.
+     *
+     * @throws IOException If the journal cannot be forced.
+     */
+    public synchronized void force() throws IOException {
+        if (durabilityPolicy == DurabilityPolicy.NEVER || unforcedCount == 0 || !Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+        unforcedCount = 0;
+    }
+
+    /**
+     * Reads all complete records from the live journal.
+     * A trailing record without a line terminator was cut off by a crash mid-append and is ignored.
+     *
+     * @return The records in the order they were appended.
+     * @throws IOException If the journal cannot be read.
+     */
+    public synchronized List<String> readRecords() throws IOException {
+        List<String> records = readRecordsFrom(path);
+        recordCount = records.size();
+        byteCount = Files.exists(path) ? Files.size(path) : 0;
+        return records;
+    }
+
+    /**
+     * Reads all complete records from the sealed journal left by an unfinished compaction.
+     *
+     * @return The sealed records, or an empty list if there is no sealed journal.
+     * @throws IOException If the sealed journal cannot be read.
+     */
+    public List<String> readSealedRecords() throws IOException {
+        return readRecordsFrom(sealedPath);
+    }
+
+    private static List<String> readRecordsFrom(Path file) throws IOException {
+        List<String> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        String data = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int start = 0;
+        int end = data.indexOf('\n');
+        while (end >= 0) {
+            if (end > start) {
+                records.add(data.substring(start, end));
+            }
+            start = end + 1;
+            end = data.indexOf('\n', start);
+        }
+        return records;
+    }
+
+    /**
+     * Seals the live journal so that its records can be compacted while new records go to a fresh log.
+     * If a sealed journal is still waiting to be compacted, it is kept and the live journal is left as is.
+     *
+     * @throws IOException If the live journal cannot be renamed.
+     */
+    public synchronized void seal() throws IOException {
+        if (hasSealedRecords() || !Files.exists(path)) {
+            return;
+        }
+        Files.move(path, sealedPath);
+        recordCount = 0;
+        byteCount = 0;
+        unforcedCount = 0;
+    }
+
+    /**
+     * Renames the live and sealed journals by appending the given suffix, leaving this journal empty.
+     *
+     * @param suffix The suffix to append to the journal file names.
+     * @throws IOException If a journal file cannot be renamed.
+     */
+    public synchronized void moveAside(String suffix) throws IOException {
+        for (Path file : List.of(path, sealedPath)) {
+            if (Files.exists(file)) {
+                Files.move(file, Paths.get(file + suffix), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        recordCount = 0;
+        byteCount = 0;
+        unforcedCount = 0;
+    }
+
+    public boolean hasSealedRecords() {
+        return Files.exists(sealedPath);
+    }
+
+    /**
+     * Removes the sealed journal once its records have been folded into the task file.
+     *
+     * @throws IOException If the sealed journal cannot be deleted.
+     */
+    public void clearSealed() throws IOException {
+        Files.deleteIfExists(sealedPath);
+    }
+
+    /**
+     * Removes every record from the live and sealed journals.
+     *
+     * @throws IOException If a journal file cannot be deleted.
+     */
+    public synchronized void clear() throws IOException {
+        Files.deleteIfExists(path);
+        clearSealed();
+        recordCount = 0;
+        byteCount = 0;
+        unforcedCount = 0;
+    }
+
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+}
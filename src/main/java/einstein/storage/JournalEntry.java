@@ -0,0 +1,154 @@
+package einstein.storage;
+
+import einstein.task.Priority;
+import einstein.task.Task;
+
+/**
+ * Represents a single mutation of the task list that can be appended to the storage journal.
+ * Replaying the entries in order on top of the last snapshot reproduces the current task list.
+ */
+public class JournalEntry {
+
+    /**
+     * Represents the kinds of mutations recorded in the journal, each with a one-letter code.
+     */
+    public enum Type {
+        ADD("A"),
+        DELETE("X"),
+        MARK("M"),
+        UNMARK("U"),
+        TAG("G"),
+        UNTAG("R"),
+        PRIORITY("P");
+
+        private final String code;
+
+        Type(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * Returns the entry type with the given one-letter code.
+         *
+         * @param code The code read from the journal.
+         * @return The matching type, or null if the code is unknown.
+         */
+        public static Type fromCode(String code) {
+            for (Type type : values()) {
+                if (type.code.equals(code)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Type type;
+    private final int index;
+    private final String argument;
+    private final Task task;
+
+    private JournalEntry(Type type, int index, String argument, Task task) {
+        assert type != null : "Journal entry type cannot be null";
+        this.type = type;
+        this.index = index;
+        this.argument = argument;
+        this.task = task;
+    }
+
+    /**
+     * Creates an entry recording that a task was appended to the list.
+     *
+     * @param index The index (zero-based) the task was added at.
+     * @param task  The task that was added.
+     * @return The journal entry.
+     */
+    public static JournalEntry add(int index, Task task) {
+        assert task != null : "Added task cannot be null";
+        return new JournalEntry(Type.ADD, index, null, task);
+    }
+
+    /**
+     * Creates an entry recording that a task was deleted.
+     *
+     * @param index The index (zero-based) of the deleted task.
+     * @return The journal entry.
+     */
+    public static JournalEntry delete(int index) {
+        return new JournalEntry(Type.DELETE, index, null, null);
+    }
+
+    /**
+     * Creates an entry recording that a task was marked as done.
+     *
+     * @param index The index (zero-based) of the marked task.
+     * @return The journal entry.
+     */
+    public static JournalEntry mark(int index) {
+        return new JournalEntry(Type.MARK, index, null, null);
+    }
+
+    /**
+     * Creates an entry recording that a task was marked as not done.
+     *
+     * @param index The index (zero-based) of the unmarked task.
+     * @return The journal entry.
+     */
+    public static JournalEntry unmark(int index) {
+        return new JournalEntry(Type.UNMARK, index, null, null);
+    }
+
+    /**
+     * Creates an entry recording that a tag was added to a task.
+     *
+     * @param index The index (zero-based) of the tagged task.
+     * @param tag   The tag that was added.
+     * @return The journal entry.
+     */
+    public static JournalEntry tag(int index, String tag) {
+        return new JournalEntry(Type.TAG, index, tag, null);
+    }
+
+    /**
+     * Creates an entry recording that a tag was removed from a task.
+     *
+     * @param index The index (zero-based) of the untagged task.
+     * @param tag   The tag that was removed.
+     * @return The journal entry.
+     */
+    public static JournalEntry untag(int index, String tag) {
+        return new JournalEntry(Type.UNTAG, index, tag, null);
+    }
+
+    /**
+     * Creates an entry recording that the priority of a task was set.
+     *
+     * @param index    The index (zero-based) of the task.
+     * @param priority The new priority.
+     * @return The journal entry.
+     */
+    public static JournalEntry priority(int index, Priority priority) {
+        assert priority != null : "Priority cannot be null";
+        return new JournalEntry(Type.PRIORITY, index, priority.name(), null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getArgument() {
+        return argument;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
@@ -0,0 +1,35 @@
+package einstein.storage;
+
+/**
+ * Represents a corrupted line that was skipped while loading a task file.
+ */
+public class LoadError {
+    private final int lineNumber;
+    private final String message;
+
+    /**
+     * Constructs a new LoadError.
+     *
+     * @param lineNumber The line number (one-based) of the skipped line.
+     * @param message    The reason the line was skipped.
+     */
+    public LoadError(int lineNumber, String message) {
+        assert lineNumber > 0 : "Line number must be positive";
+        assert message != null : "Message cannot be null";
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "Line " + lineNumber + ": " + message;
+    }
+}
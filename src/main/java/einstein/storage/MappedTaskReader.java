@@ -0,0 +1,207 @@
+package einstein.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import einstein.exception.EinsteinException;
+import einstein.task.Deadline;
+import einstein.task.Event;
+import einstein.task.Task;
+import einstein.task.Todo;
+import einstein.util.DateTimeCodec;
+
+/**
+ * Parses text task files straight out of the bytes of a memory-mapped buffer.
+ * Only descriptions are decoded into Strings, so no intermediate line Strings are kept while loading.
+ * Lines that do not take the common well-formed shape, including lines with priority or tag fields,
+ * are decoded and handed to a fallback parser, which keeps the exact behaviour and error messages
+ * of line-based parsing.
+ * A reader keeps scratch state between lines, so each thread needs its own reader.
+ */
+public class MappedTaskReader {
+    private static final int MAX_FIELDS = 5;
+    private static final byte SEPARATOR = '|';
+
+    private final LineParser fallback;
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Parses a single line of a task file.
+     */
+    public interface LineParser {
+        /**
+         * Parses the given line into a task.
+         *
+         * @param line The line to parse.
+         * @return The parsed task.
+         * @throws EinsteinException If the line is corrupted.
+         */
+        Task parse(String line) throws EinsteinException;
+    }
+
+    /**
+     * Constructs a new MappedTaskReader.
+     *
+     * @param fallback The parser used for lines that are not in the common well-formed shape.
+     */
+    public MappedTaskReader(LineParser fallback) {
+        assert fallback != null : "Fallback parser cannot be null";
+        this.fallback = fallback;
+    }
+
+    /**
+     * Parses all lines between the given offsets of the buffer, stopping at the first corrupted line.
+     *
+     * @param buffer The buffer holding the task file.
+     * @param start  The offset of the first line.
+     * @param end    The offset just past the last line.
+     * @return The tasks in file order.
+     * @throws EinsteinException If a line contains corrupted data.
+     */
+    public ArrayList<Task> parse(ByteBuffer buffer, int start, int end) throws EinsteinException {
+        return parse(buffer, start, end, null);
+    }
+
+    /**
+     * Parses all lines between the given offsets of the buffer.
+     * If a list of errors is given, corrupted lines are skipped and reported in it with their line number
+     * counted from {@code start}; otherwise the first corrupted line aborts parsing.
+     *
+     * @param buffer The buffer holding the task file.
+     * @param start  The offset of the first line.
+     * @param end    The offset just past the last line.
+     * @param errors The list to report skipped lines in, or null to stop at the first corrupted line.
+     * @return The tasks in file order.
+     * @throws EinsteinException If a line contains corrupted data and no list of errors is given.
+     */
+    public ArrayList<Task> parse(ByteBuffer buffer, int start, int end, List<LoadError> errors)
+            throws EinsteinException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        int lineNumber = 0;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, (byte) '\n', lineStart, end);
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            lineNumber++;
+            try {
+                tasks.add(parseLine(buffer, lineStart, contentEnd));
+            } catch (EinsteinException e) {
+                if (errors == null) {
+                    throw e;
+                }
+                errors.add(new LoadError(lineNumber, e.getMessage()));
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private Task parseLine(ByteBuffer buffer, int start, int end) throws EinsteinException {
+        int fieldCount = splitFields(buffer, start, end);
+        Task task = fieldCount >= 3 ? createTask(buffer, fieldCount) : null;
+        if (task == null) {
+            return fallback.parse(decode(buffer, start, end));
+        }
+        return task;
+    }
+
+    /**
+     * Splits the line on {@code " | "} like the line-based parser does, recording the trimmed bounds
+     * of the first fields.
+     *
+     * @return The number of fields found, counting at most one field past the recorded ones.
+     */
+    private int splitFields(ByteBuffer buffer, int start, int end) {
+        int fieldCount = 0;
+        int fieldStart = start;
+        for (int i = start; i + 2 < end && fieldCount < MAX_FIELDS; i++) {
+            if (buffer.get(i) == ' ' && buffer.get(i + 1) == SEPARATOR && buffer.get(i + 2) == ' ') {
+                recordField(buffer, fieldCount++, fieldStart, i);
+                fieldStart = i + 3;
+                i += 2;
+            }
+        }
+        if (fieldCount < MAX_FIELDS) {
+            recordField(buffer, fieldCount, fieldStart, end);
+        }
+        return fieldCount + 1;
+    }
+
+    private void recordField(ByteBuffer buffer, int field, int start, int end) {
+        while (start < end && isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        fieldStarts[field] = start;
+        fieldEnds[field] = end;
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return (value & 0xFF) <= ' ';
+    }
+
+    /**
+     * Creates the task described by the recorded fields.
+     *
+     * @return The task, or null if the fields are not in the common well-formed shape.
+     */
+    private Task createTask(ByteBuffer buffer, int fieldCount) {
+        if (fieldEnds[0] - fieldStarts[0] != 1 || fieldEnds[2] == fieldStarts[2]) {
+            return null;
+        }
+        byte type = buffer.get(fieldStarts[0]);
+        boolean isDone = fieldEnds[1] - fieldStarts[1] == 1 && buffer.get(fieldStarts[1]) == '1';
+        Task task;
+        if (fieldCount > getFieldCount(type)) {
+            task = null;
+        } else if (type == 'T') {
+            task = new Todo(decode(buffer, fieldStarts[2], fieldEnds[2]));
+        } else if (type == 'D' && fieldCount >= 4) {
+            LocalDateTime by = DateTimeCodec.parseDateTime(buffer, fieldStarts[3], fieldEnds[3]);
+            task = by == null ? null : new Deadline(decode(buffer, fieldStarts[2], fieldEnds[2]), by);
+        } else if (type == 'E' && fieldCount >= 5) {
+            LocalDateTime from = DateTimeCodec.parseDateTime(buffer, fieldStarts[3], fieldEnds[3]);
+            LocalDateTime to = DateTimeCodec.parseDateTime(buffer, fieldStarts[4], fieldEnds[4]);
+            boolean hasDates = from != null && to != null;
+            task = hasDates ? new Event(decode(buffer, fieldStarts[2], fieldEnds[2]), from, to) : null;
+        } else {
+            task = null;
+        }
+        if (task != null && isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private static int getFieldCount(byte type) {
+        return type == 'E' ? 5 : type == 'D' ? 4 : 3;
+    }
+
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,157 @@
+package einstein.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import einstein.exception.EinsteinException;
+import einstein.task.Task;
+
+/**
+ * Loads text task files by memory-mapping them and parsing newline-aligned chunks on a fork-join pool.
+ * Task lines are independent, so each chunk is parsed by its own {@link MappedTaskReader} and the
+ * per-chunk results are concatenated in file order. Small files are parsed on the calling thread.
+ * A checksum trailer, if present, is verified over the mapped bytes before any line is parsed.
+ */
+public class ParallelTaskLoader {
+    /** The smallest chunk worth handing to another thread. */
+    public static final int MIN_CHUNK_BYTES = 256 * 1024;
+
+    private final MappedTaskReader.LineParser fallback;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new ParallelTaskLoader that parses on the common fork-join pool.
+     *
+     * @param fallback The parser used for lines that are not in the common well-formed shape.
+     */
+    public ParallelTaskLoader(MappedTaskReader.LineParser fallback) {
+        this(fallback, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new ParallelTaskLoader that parses on the given pool.
+     *
+     * @param fallback The parser used for lines that are not in the common well-formed shape.
+     * @param pool     The pool to parse chunks on.
+     */
+    public ParallelTaskLoader(MappedTaskReader.LineParser fallback, ForkJoinPool pool) {
+        assert fallback != null : "Fallback parser cannot be null";
+        assert pool != null : "Pool cannot be null";
+        this.fallback = fallback;
+        this.pool = pool;
+    }
+
+    /**
+     * Loads all tasks from the given text task file.
+     * If a list of errors is given, corrupted lines are skipped and reported in it;
+     * otherwise the first corrupted line aborts the load.
+     *
+     * @param path   The path to the task file.
+     * @param errors The list to report skipped lines in, or null to stop at the first corrupted line.
+     * @return The tasks in file order.
+     * @throws IOException       If the file cannot be mapped.
+     * @throws EinsteinException If the checksum does not match, or if a line contains corrupted data
+     *                           and no list of errors is given.
+     */
+    public ArrayList<Task> load(Path path, List<LoadError> errors) throws IOException, EinsteinException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Task file is too large to load: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int dataEnd = TaskFileChecksum.verifyTrailer(buffer, (int) size);
+            int[] boundaries = findChunkBoundaries(buffer, dataEnd);
+            if (boundaries.length == 2) {
+                return new MappedTaskReader(fallback).parse(buffer, 0, dataEnd, errors);
+            }
+            return parseChunks(buffer, boundaries, errors);
+        }
+    }
+
+    /**
+     * Splits the buffer into chunks that each start right after a line break.
+     *
+     * @return The chunk boundaries, starting with 0 and ending with the buffer size.
+     */
+    private int[] findChunkBoundaries(ByteBuffer buffer, int size) {
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4, size / MIN_CHUNK_BYTES));
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        for (int i = 1; i < chunkCount; i++) {
+            int boundary = Math.max((int) ((long) size * i / chunkCount), boundaries.get(boundaries.size() - 1));
+            while (boundary < size && buffer.get(boundary - 1) != '\n') {
+                boundary++;
+            }
+            if (boundary > boundaries.get(boundaries.size() - 1) && boundary < size) {
+                boundaries.add(boundary);
+            }
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private ArrayList<Task> parseChunks(ByteBuffer buffer, int[] boundaries, List<LoadError> errors)
+            throws EinsteinException {
+        List<ChunkParser> chunks = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.length; i++) {
+            ChunkParser chunk = new ChunkParser(buffer, boundaries[i], boundaries[i + 1]);
+            chunks.add(chunk);
+            pool.execute(chunk);
+        }
+
+        ArrayList<Task> tasks = null;
+        int lineOffset = 0;
+        for (ChunkParser chunk : chunks) {
+            ArrayList<Task> chunkTasks = chunk.join();
+            if (tasks == null) {
+                tasks = new ArrayList<>(chunkTasks.size() * chunks.size());
+            }
+            tasks.addAll(chunkTasks);
+            for (LoadError error : chunk.errors) {
+                if (errors == null) {
+                    throw new EinsteinException(error.getMessage());
+                }
+                errors.add(new LoadError(error.getLineNumber() + lineOffset, error.getMessage()));
+            }
+            lineOffset += chunkTasks.size() + chunk.errors.size();
+        }
+        return tasks;
+    }
+
+    /**
+     * Parses a single chunk of the task file, collecting its corrupted lines.
+     */
+    private class ChunkParser extends RecursiveTask<ArrayList<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private final List<LoadError> errors = new ArrayList<>();
+
+        ChunkParser(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            try {
+                return new MappedTaskReader(fallback).parse(buffer, start, end, errors);
+            } catch (EinsteinException e) {
+                // Unreachable: corrupted lines are collected into errors instead of being thrown
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
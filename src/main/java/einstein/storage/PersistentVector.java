@@ -0,0 +1,189 @@
+package einstein.storage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list that is changed by creating new versions of it, which share most of their structure.
+ * Elements are stored in a tree of 32-way nodes plus a tail of up to 32 elements, so reading, replacing or
+ * appending an element takes O(log32 n) time and copies only the nodes on the path to it.
+ * Every version stays valid and unchanged, so a version can be read on any thread without locking
+ * while newer versions are being built.
+ *
+ * @param <E> The type of the elements.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     *
+     * @param <E> The type of the elements.
+     * @return The empty vector.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Creates a vector holding the elements of a list, building the tree from its leaves up in linear time.
+     *
+     * @param elements The elements, in order.
+     * @param <E>      The type of the elements.
+     * @return A vector holding the elements.
+     */
+    public static <E> PersistentVector<E> copyOf(List<? extends E> elements) {
+        int size = elements.size();
+        if (size == 0) {
+            return empty();
+        }
+        int tailOffset = getTailOffset(size);
+        Object[] tail = elements.subList(tailOffset, size).toArray();
+        List<Object[]> nodes = new ArrayList<>();
+        for (int start = 0; start < tailOffset; start += WIDTH) {
+            nodes.add(elements.subList(start, start + WIDTH).toArray());
+        }
+        if (nodes.isEmpty()) {
+            return new PersistentVector<>(size, BITS, new Object[WIDTH], tail);
+        }
+        int shift = BITS;
+        while (true) {
+            List<Object[]> parents = new ArrayList<>();
+            for (int start = 0; start < nodes.size(); start += WIDTH) {
+                Object[] parent = new Object[WIDTH];
+                for (int i = start; i < Math.min(start + WIDTH, nodes.size()); i++) {
+                    parent[i - start] = nodes.get(i);
+                }
+                parents.add(parent);
+            }
+            if (parents.size() == 1) {
+                return new PersistentVector<>(size, shift, parents.get(0), tail);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+    }
+
+    private static int getTailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) getLeaf(index)[index & MASK];
+    }
+
+    private Object[] getLeaf(int index) {
+        if (index >= getTailOffset(size)) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a new version of this vector with an element appended.
+     *
+     * @param element The element to append.
+     * @return The new version.
+     */
+    public PersistentVector<E> plus(E element) {
+        if (size - getTailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // The tail is full, so it moves into the tree and a new tail is started
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    private Object[] pushTail(int level, Object[] parent) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        if (level == BITS) {
+            result[child] = tail;
+        } else if (parent[child] != null) {
+            result[child] = pushTail(level - BITS, (Object[]) parent[child]);
+        } else {
+            result[child] = newPath(level - BITS, tail);
+        }
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    /**
+     * Creates a new version of this vector with the element at an index replaced.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element.
+     * @return The new version.
+     */
+    public PersistentVector<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        if (index >= getTailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+    }
+
+    private static Object[] replace(int level, Object[] node, int index, Object element) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            result[child] = replace(level - BITS, (Object[]) node[child], index, element);
+        }
+        return result;
+    }
+}
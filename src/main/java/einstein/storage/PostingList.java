@@ -0,0 +1,163 @@
+package einstein.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents a sorted list of internal task ids, as stored for each key of an inverted index.
+ * Ids are handed out in increasing order, so adding a new task's id is usually an append.
+ */
+public class PostingList {
+    private int[] ids = new int[2];
+    private int size;
+
+    /**
+     * Adds the given id if it is not in the list yet.
+     * Adding an id greater than every id in the list, as happens for new tasks, is an append.
+     *
+     * @param id The id to add.
+     */
+    public void add(int id) {
+        int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            position = -position - 1;
+        } else if (position < size) {
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    /**
+     * Removes the given id if it is in the list.
+     *
+     * @param id The id to remove.
+     */
+    public void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Removes every id in the given set in a single pass over the list.
+     *
+     * @param removed The ids to remove.
+     */
+    public void removeAll(BitSet removed) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removed.get(ids[i])) {
+                ids[count++] = ids[i];
+            }
+        }
+        size = count;
+    }
+
+    /**
+     * Checks if the given id is in the list.
+     *
+     * @param id The id to look for.
+     * @return true if the id is in the list, false otherwise.
+     */
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int get(int position) {
+        assert position >= 0 && position < size : "Position out of range";
+        return ids[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the ids that are in every one of the given lists, in increasing order.
+     * The shortest list is walked and every other list is probed by binary search,
+     * so the cost depends on the shortest list rather than on the number of tasks.
+     *
+     * @param lists The lists to intersect.
+     * @return The ids in all lists.
+     */
+    public static PostingList intersect(PostingList... lists) {
+        assert lists.length > 0 : "At least one list must be given";
+        PostingList shortest = lists[0];
+        for (PostingList list : lists) {
+            if (list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        PostingList result = new PostingList();
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            boolean isInAll = true;
+            for (PostingList list : lists) {
+                if (list != shortest && !list.contains(id)) {
+                    isInAll = false;
+                    break;
+                }
+            }
+            if (isInAll) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids that are in either of the given lists, in increasing order.
+     *
+     * @param first  The first list.
+     * @param second The second list.
+     * @return The ids in at least one of the lists.
+     */
+    public static PostingList union(PostingList first, PostingList second) {
+        PostingList result = new PostingList();
+        result.ids = new int[Math.max(first.size + second.size, 2)];
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            int id;
+            if (j == second.size || (i < first.size && first.ids[i] < second.ids[j])) {
+                id = first.ids[i++];
+            } else if (i == first.size || second.ids[j] < first.ids[i]) {
+                id = second.ids[j++];
+            } else {
+                id = first.ids[i++];
+                j++;
+            }
+            result.ids[result.size++] = id;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids of the first list that are not in the second list, in increasing order.
+     * The first list is walked and the second list is probed by binary search.
+     *
+     * @param first  The list to take ids from.
+     * @param second The list of ids to leave out.
+     * @return The ids only in the first list.
+     */
+    public static PostingList difference(PostingList first, PostingList second) {
+        PostingList result = new PostingList();
+        for (int i = 0; i < first.size; i++) {
+            if (!second.contains(first.ids[i])) {
+                result.add(first.ids[i]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package einstein.storage;
+
+import java.util.List;
+
+import einstein.task.Task;
+
+/**
+ * Holds the matches of a task list query together with the version of the list they were found in.
+ * Matches refer to tasks by their zero-based position, and positions shift as tasks are deleted,
+ * so they are only meaningful against the version captured with them.
+ *
+ * @param <M> The type of the matches, such as an array of positions or an array indexed by position.
+ */
+public class QueryResult<M> {
+    private final List<Task> tasks;
+    private final M matches;
+
+    /**
+     * Constructs a new QueryResult.
+     *
+     * @param tasks   The version of the task list the matches were found in.
+     * @param matches The matches, referring to tasks by their position in that version.
+     */
+    public QueryResult(List<Task> tasks, M matches) {
+        assert tasks != null : "Tasks list cannot be null";
+        assert matches != null : "Matches cannot be null";
+        this.tasks = tasks;
+        this.matches = matches;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public M getMatches() {
+        return matches;
+    }
+}
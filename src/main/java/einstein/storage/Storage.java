@@ -1,26 +1,65 @@
 package einstein.storage;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import einstein.exception.EinsteinException;
 import einstein.task.Deadline;
 import einstein.task.Event;
+import einstein.task.Priority;
 import einstein.task.Task;
 import einstein.task.Todo;
+import einstein.util.DateTimeCodec;
 
 /**
  * Manages the storage of tasks in the Einstein task management system.
- * This class handles loading tasks from and saving tasks to a file.
+ * This class handles loading tasks from and saving tasks to a file, in plain text or,
+ * for files ending in {@code .bin}, in the binary format of {@link BinaryTaskFormat}.
+ * In journaled mode, changes are appended to a log next to the file instead of rewriting it,
+ * and the log is replayed on top of the file when loading. A background {@link Compactor}
+ * folds the log back into the file once it grows past a threshold.
+ * Task files are replaced atomically and carry a CRC32C checksum that is verified when loading,
+ * and the {@link DurabilityPolicy} decides how eagerly writes are forced to disk.
+ * The encoded line of every saved task is cached, so rewriting a text file only re-encodes the tasks
+ * whose version changed since the last save.
+ * A text line holds the type, done status and description of a task, then its dates, then optional fields
+ * for its priority, written as {@code !HIGH}, and for each of its tags, written as {@code #tag}.
  */
 public class Storage {
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final String PRIORITY_PREFIX = "!";
+    private static final String TAG_PREFIX = "#";
+
     private String filePath;
+    private DurabilityPolicy durabilityPolicy;
+    private Journal journal;
+    private Compactor compactor;
+    private WriteBehindWriter writer;
+    private List<LoadError> loadErrors = new ArrayList<>();
+    private Map<Task, EncodedLine> encodedLines = new IdentityHashMap<>();
+
+    /**
+     * Holds the encoded task file line of a task as of the given task version.
+     */
+    private static class EncodedLine {
+        private final int version;
+        private final byte[] bytes;
+
+        EncodedLine(int version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
 
     /**
      * Constructs a new Storage object with the specified file path.
@@ -28,45 +67,270 @@ public class Storage {
      * @param filePath The path to the file used for storing tasks.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a new Storage object with the specified file path, optionally in journaled mode.
+     *
+     * @param filePath    The path to the file used for storing tasks.
+     * @param isJournaled Whether changes should be appended to a journal instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, DurabilityPolicy.BATCHED);
+    }
+
+    /**
+     * Constructs a new Storage object with the specified file path, journaling mode and durability policy.
+     *
+     * @param filePath         The path to the file used for storing tasks.
+     * @param isJournaled      Whether changes should be appended to a journal instead of rewriting the file.
+     * @param durabilityPolicy How eagerly written data is forced to disk.
+     */
+    public Storage(String filePath, boolean isJournaled, DurabilityPolicy durabilityPolicy) {
         assert filePath != null && !filePath.isEmpty() : "File path cannot be null or empty";
+        assert durabilityPolicy != null : "Durability policy cannot be null";
         this.filePath = filePath;
+        this.durabilityPolicy = durabilityPolicy;
+        if (isJournaled) {
+            this.journal = new Journal(filePath + JOURNAL_SUFFIX, durabilityPolicy);
+            this.compactor = new Compactor(this, journal, filePath,
+                    Compactor.DEFAULT_MAX_RECORDS, Compactor.DEFAULT_MAX_BYTES, durabilityPolicy);
+        }
+    }
+
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    /**
+     * Switches to write-behind mode, where changes are written by a background thread in group commits
+     * instead of on the calling thread. Queued changes are flushed by {@link #flush()} and on JVM shutdown.
+     *
+     * @param maxDelayMillis The longest time a change may wait before it is written.
+     */
+    public void enableWriteBehind(long maxDelayMillis) {
+        assert writer == null : "Write-behind mode is already enabled";
+        writer = new WriteBehindWriter(this, maxDelayMillis);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Error saving tasks on exit: " + e.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Waits until every change handed to this storage has been written and, unless the durability policy
+     * is {@link DurabilityPolicy#NEVER}, forced to disk.
+     *
+     * @throws EinsteinException If there's an error writing a queued change.
+     */
+    public void flush() throws EinsteinException {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (journal != null) {
+                journal.force();
+            }
+        } catch (IOException e) {
+            throw new EinsteinException("Error saving tasks to file: " + e.getMessage());
+        }
+    }
+
+    Compactor getCompactor() {
+        return compactor;
     }
 
     /**
      * Loads tasks from the file specified in the constructor.
+     * Corrupted lines are skipped and can be retrieved with {@link #getLoadErrors()}, and the file as read
+     * is first copied to {@link #getCorruptedCopyPath()} so that the skipped lines can still be recovered.
+     * In journaled mode the journal is replayed over the same list the skipped lines were left out of,
+     * since that is the list its records were written against, and the result is then checkpointed
+     * so that the file and the journal agree on task positions from then on.
      *
      * @return An ArrayList of Task objects loaded from the file.
-     * @throws EinsteinException If there's an error reading from the file, parsing the data,
-     *                           or if corrupted data is found.
+     * @throws EinsteinException If there's an error reading from the file or the journal.
      */
     public ArrayList<Task> load() throws EinsteinException {
-        ArrayList<Task> tasks = new ArrayList<>();
-        if (!fileExists()) {
+        loadErrors = new ArrayList<>();
+        try {
+            if (!isJournaled()) {
+                ArrayList<Task> tasks = readTaskFile(loadErrors);
+                keepCorruptedFile();
+                return tasks;
+            }
+            compactor.recover();
+            ArrayList<Task> tasks = readTaskFile(loadErrors);
+            keepCorruptedFile();
+            List<String> sealedRecords = journal.readSealedRecords();
+            List<String> records = journal.readRecords();
+            replayRecords(tasks, sealedRecords);
+            replayRecords(tasks, records);
+            if (!loadErrors.isEmpty()) {
+                // Drops the skipped lines from the file, so a strict read of it matches the journal's positions
+                save(tasks);
+            }
+            compactor.compactIfNeeded();
             return tasks;
+        } catch (IOException e) {
+            throw new EinsteinException("Error loading tasks from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the task file to {@link #getCorruptedCopyPath()} if the last read skipped corrupted lines,
+     * since the next rewrite of the file drops them.
+     */
+    private void keepCorruptedFile() throws IOException {
+        if (!loadErrors.isEmpty()) {
+            Files.copy(Paths.get(filePath), Paths.get(getCorruptedCopyPath()), StandardCopyOption.REPLACE_EXISTING);
         }
+    }
+
+    /**
+     * Returns the path that a task file which could not be fully loaded is kept at.
+     *
+     * @return The path of the kept copy.
+     */
+    public String getCorruptedCopyPath() {
+        return filePath + CORRUPT_SUFFIX;
+    }
 
+    /**
+     * Moves the task file and its journal aside under names ending in {@code .corrupt}, so that data which
+     * cannot be loaded is kept for repair and this storage starts over from an empty task list.
+     *
+     * @return The path the task file was moved to.
+     * @throws EinsteinException If a file cannot be moved.
+     */
+    public String setAside() throws EinsteinException {
+        String asidePath = getCorruptedCopyPath();
         try {
-            List<String> lines = readLinesFromFile();
-            for (String line : lines) {
-                assert line != null && !line.isEmpty() : "Line cannot be null or empty";
-                Task task = parseTask(line);
-                tasks.add(task);
+            if (fileExists()) {
+                Files.move(Paths.get(filePath), Paths.get(asidePath), StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (isJournaled()) {
+                journal.moveAside(CORRUPT_SUFFIX);
             }
         } catch (IOException e) {
-            throw new EinsteinException("Error loading tasks from file: " + e.getMessage());
+            throw new EinsteinException("Error moving unreadable tasks aside: " + e.getMessage());
         }
-        return tasks;
+        encodedLines.clear();
+        return asidePath;
     }
 
-    private boolean fileExists() {
-        return Files.exists(Paths.get(filePath));
+    /**
+     * Returns the corrupted lines that were skipped by the last call to {@link #load()}.
+     *
+     * @return The skipped lines, in file order.
+     */
+    public List<LoadError> getLoadErrors() {
+        return loadErrors;
+    }
+
+    /**
+     * Reads the tasks in the task file, without applying the journal.
+     *
+     * @param errors The list to report skipped corrupted lines in, or null to stop at the first one.
+     */
+    ArrayList<Task> readTaskFile(List<LoadError> errors) throws IOException, EinsteinException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        if (!fileExists()) {
+            return tasks;
+        }
+        if (isBinary()) {
+            return BinaryTaskFormat.decode(Files.readAllBytes(Paths.get(filePath)));
+        }
+        return new ParallelTaskLoader(this::parseTask).load(Paths.get(filePath), errors);
+    }
+
+    void replayRecords(ArrayList<Task> tasks, List<String> records) throws EinsteinException {
+        for (String record : records) {
+            applyRecord(tasks, record);
+        }
     }
 
-    private List<String> readLinesFromFile() throws IOException {
-        return Files.readAllLines(Paths.get(filePath));
+    private void applyRecord(ArrayList<Task> tasks, String record) throws EinsteinException {
+        String[] parts = record.split(" \\| ", 3);
+        JournalEntry.Type type = parts.length < 2 ? null : JournalEntry.Type.fromCode(parts[0]);
+        if (type == null) {
+            throw new EinsteinException("Corrupted journal entry found: " + record);
+        }
+        int index = parseRecordIndex(parts[1], record);
+        if (type == JournalEntry.Type.ADD) {
+            validateRecordArgument(parts, record);
+            tasks.add(parseTask(parts[2]));
+            return;
+        }
+        if (index < 0 || index >= tasks.size()) {
+            throw new EinsteinException("Journal entry refers to a missing task: " + record);
+        }
+        Task task = tasks.get(index);
+        switch (type) {
+        case DELETE:
+            tasks.remove(index);
+            break;
+        case MARK:
+            task.markAsDone();
+            break;
+        case UNMARK:
+            task.markAsNotDone();
+            break;
+        case TAG:
+            validateRecordArgument(parts, record);
+            task.addTag(parts[2]);
+            break;
+        case UNTAG:
+            validateRecordArgument(parts, record);
+            // Files written before tags were saved in text lines lost them, so the tag may already be gone
+            if (task.hasTag(parts[2])) {
+                task.removeTag(parts[2]);
+            }
+            break;
+        case PRIORITY:
+            validateRecordArgument(parts, record);
+            task.setPriority(parsePriority(parts[2], record));
+            break;
+        default:
+            throw new EinsteinException("Corrupted journal entry found: " + record);
+        }
+    }
+
+    private int parseRecordIndex(String index, String record) throws EinsteinException {
+        try {
+            return Integer.parseInt(index);
+        } catch (NumberFormatException e) {
+            throw new EinsteinException("Corrupted journal entry found: " + record);
+        }
+    }
+
+    private void validateRecordArgument(String[] parts, String record) throws EinsteinException {
+        if (parts.length < 3 || parts[2].isEmpty()) {
+            throw new EinsteinException("Corrupted journal entry found: " + record);
+        }
+    }
+
+    private Priority parsePriority(String priority, String record) throws EinsteinException {
+        try {
+            return Priority.valueOf(priority);
+        } catch (IllegalArgumentException e) {
+            throw new EinsteinException("Corrupted journal entry found: " + record);
+        }
+    }
+
+    private boolean isBinary() {
+        return filePath.endsWith(BinaryTaskFormat.EXTENSION);
+    }
+
+    private boolean fileExists() {
+        return Files.exists(Paths.get(filePath));
     }
 
-    private Task parseTask(String line) throws EinsteinException {
+    Task parseTask(String line) throws EinsteinException {
         String[] parts = line.split(" \\| ");
         validateParts(parts, line);
         String type = parts[0].trim();
@@ -76,9 +340,44 @@ public class Storage {
         if (isDone) {
             task.markAsDone();
         }
+        parseOptionalFields(task, parts, getFieldCount(type));
         return task;
     }
 
+    private static int getFieldCount(String type) {
+        switch (type) {
+        case "D":
+            return 4;
+        case "E":
+            return 5;
+        default:
+            return 3;
+        }
+    }
+
+    /**
+     * Applies the priority and tag fields that follow the fields every task of its type has.
+     * Other fields are ignored, as they were before these fields existed.
+     */
+    private void parseOptionalFields(Task task, String[] parts, int start) throws EinsteinException {
+        for (int i = start; i < parts.length; i++) {
+            String field = parts[i].trim();
+            if (field.startsWith(TAG_PREFIX) && field.length() > TAG_PREFIX.length()) {
+                task.addTag(field.substring(TAG_PREFIX.length()));
+            } else if (field.startsWith(PRIORITY_PREFIX)) {
+                task.setPriority(parseFieldPriority(field.substring(PRIORITY_PREFIX.length()), parts));
+            }
+        }
+    }
+
+    private Priority parseFieldPriority(String priority, String[] parts) throws EinsteinException {
+        try {
+            return Priority.valueOf(priority);
+        } catch (IllegalArgumentException e) {
+            throw new EinsteinException("Invalid priority found. Skipping line: " + String.join(" | ", parts));
+        }
+    }
+
     private void validateParts(String[] parts, String line) throws EinsteinException {
         if (parts.length < 3) {
             throw new EinsteinException("Corrupted data found in file. Skipping line: " + line);
@@ -125,8 +424,7 @@ public class Storage {
 
     private LocalDateTime parseDateTime(String dateTimeString) throws EinsteinException {
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-            return LocalDateTime.parse(dateTimeString, formatter);
+            return DateTimeCodec.parseDateTime(dateTimeString);
         } catch (DateTimeParseException e) {
             throw new EinsteinException("Invalid date/time format: " + dateTimeString);
         }
@@ -135,25 +433,120 @@ public class Storage {
     /**
      * Saves the given list of tasks to the file specified in the constructor.
      *
-     * @param tasks The ArrayList of Task objects to be saved.
+     * @param tasks The list of Task objects to be saved.
      * @throws EinsteinException If there's an error writing to the file.
      */
-    public void save(ArrayList<Task> tasks) throws EinsteinException {
+    public void save(List<Task> tasks) throws EinsteinException {
         assert tasks != null : "Tasks list cannot be null";
+        // Queued journal records must not be appended after the checkpoint that already contains them
+        flush();
         try {
             createDataDirectory();
-            String data = buildTaskData(tasks);
-            writeDataToFile(data);
+            byte[] data = encodeChangedTasks(tasks);
+            if (isJournaled()) {
+                compactor.checkpoint(data);
+            } else {
+                writeDataToFile(data);
+            }
         } catch (IOException e) {
             throw new EinsteinException("Error saving tasks to file: " + e.getMessage());
         }
     }
 
+    /**
+     * Persists the changes described by the given journal entries.
+     * In journaled mode only the entries are appended to the journal; otherwise the whole list is saved.
+     * In write-behind mode the write is queued and this method returns without waiting for the disk.
+     *
+     * @param tasks   The list of Task objects after the changes were applied. In write-behind mode the tasks
+     *                in it must never be changed again, as they may be encoded later on the writer thread.
+     * @param entries The changes that were applied, in order.
+     * @throws EinsteinException If there's an error writing to the file or the journal.
+     */
+    public void saveChanges(List<Task> tasks, JournalEntry... entries) throws EinsteinException {
+        assert tasks != null : "Tasks list cannot be null";
+        assert entries != null && entries.length > 0 : "At least one change must be given";
+        if (!isJournaled() && writer == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            if (!isJournaled()) {
+                writer.submitSnapshot(new ArrayList<>(tasks));
+                return;
+            }
+            List<String> records = new ArrayList<>();
+            for (JournalEntry entry : entries) {
+                records.add(formatEntry(entry));
+            }
+            if (writer != null) {
+                writer.submitRecords(records);
+            } else {
+                appendRecords(records);
+            }
+        } catch (IOException e) {
+            String target = isJournaled() ? "journal" : "file";
+            throw new EinsteinException("Error saving tasks to " + target + ": " + e.getMessage());
+        }
+    }
+
+    void appendRecords(List<String> records) throws IOException {
+        createDataDirectory();
+        journal.append(records);
+        compactor.compactIfNeeded();
+    }
+
+    void writeSnapshot(ArrayList<Task> tasks) throws IOException {
+        createDataDirectory();
+        writeDataToFile(encodeChangedTasks(tasks));
+    }
+
     private void createDataDirectory() throws IOException {
         Files.createDirectories(Paths.get("data"));
     }
 
-    private String buildTaskData(ArrayList<Task> tasks) {
+    byte[] encodeTaskFile(List<Task> tasks) {
+        if (isBinary()) {
+            return BinaryTaskFormat.encode(tasks);
+        }
+        return TaskFileChecksum.appendTrailer(buildTaskData(tasks).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encodes the task file like {@link #encodeTaskFile(List)}, but reuses the cached line of every
+     * text task that has not changed since it was last encoded. Tasks no longer in the list are evicted.
+     */
+    private synchronized byte[] encodeChangedTasks(List<Task> tasks) {
+        if (isBinary()) {
+            return BinaryTaskFormat.encode(tasks);
+        }
+        Map<Task, EncodedLine> lines = new IdentityHashMap<>(tasks.size());
+        EncodedLine[] orderedLines = new EncodedLine[tasks.size()];
+        int size = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            assert task != null : "Task in the list cannot be null";
+            EncodedLine line = encodedLines.get(task);
+            if (line == null || line.version != task.getVersion()) {
+                // Read the version first so a concurrent change is re-encoded on the next save
+                int version = task.getVersion();
+                line = new EncodedLine(version, formatTask(task).getBytes(StandardCharsets.UTF_8));
+            }
+            lines.put(task, line);
+            orderedLines[i] = line;
+            size += line.bytes.length;
+        }
+        byte[] data = new byte[size];
+        int offset = 0;
+        for (EncodedLine line : orderedLines) {
+            System.arraycopy(line.bytes, 0, data, offset, line.bytes.length);
+            offset += line.bytes.length;
+        }
+        encodedLines = lines;
+        return TaskFileChecksum.appendTrailer(data);
+    }
+
+    private String buildTaskData(List<Task> tasks) {
         StringBuilder data = new StringBuilder();
         for (Task task : tasks) {
             assert task != null : "Task in the list cannot be null";
@@ -162,6 +555,18 @@ public class Storage {
         return data.toString();
     }
 
+    private String formatEntry(JournalEntry entry) {
+        String record = entry.getType().getCode() + " | " + entry.getIndex();
+        if (entry.getType() == JournalEntry.Type.ADD) {
+            String line = formatTask(entry.getTask());
+            return record + " | " + line.substring(0, line.length() - 1);
+        } else if (entry.getArgument() != null) {
+            return record + " | " + entry.getArgument();
+        } else {
+            return record;
+        }
+    }
+
     private String formatTask(Task task) {
         if (task instanceof Todo) {
             return formatTodo((Todo) task);
@@ -175,30 +580,43 @@ public class Storage {
     }
 
     private String formatTodo(Todo todo) {
-        return String.format("T | %s | %s\n", todo.getIsDone() ? "1" : "0", todo.getDescription());
+        return String.format("T | %s | %s%s\n", todo.getIsDone() ? "1" : "0", todo.getDescription(),
+                formatOptionalFields(todo));
     }
 
     private String formatDeadline(Deadline deadline) {
-        return String.format("D | %s | %s | %s\n",
+        return String.format("D | %s | %s | %s%s\n",
                 deadline.getIsDone() ? "1" : "0",
                 deadline.getDescription(),
-                formatDateTime(deadline.getBy()));
+                formatDateTime(deadline.getBy()),
+                formatOptionalFields(deadline));
     }
 
     private String formatEvent(Event event) {
-        return String.format("E | %s | %s | %s | %s\n",
+        return String.format("E | %s | %s | %s | %s%s\n",
                 event.getIsDone() ? "1" : "0",
                 event.getDescription(),
                 formatDateTime(event.getFrom()),
-                formatDateTime(event.getTo()));
+                formatDateTime(event.getTo()),
+                formatOptionalFields(event));
+    }
+
+    private String formatOptionalFields(Task task) {
+        StringBuilder fields = new StringBuilder();
+        if (task.getPriority() != null) {
+            fields.append(" | ").append(PRIORITY_PREFIX).append(task.getPriority().name());
+        }
+        for (String tag : task.getTags()) {
+            fields.append(" | ").append(TAG_PREFIX).append(tag);
+        }
+        return fields.toString();
     }
 
     private String formatDateTime(LocalDateTime dateTime) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-        return dateTime.format(formatter);
+        return DateTimeCodec.formatDateTime(dateTime);
     }
 
-    private void writeDataToFile(String data) throws IOException {
-        Files.write(Paths.get(filePath), data.getBytes());
+    private void writeDataToFile(byte[] data) throws IOException {
+        AtomicFileWriter.write(Paths.get(filePath), data, durabilityPolicy != DurabilityPolicy.NEVER);
     }
 }
@@ -0,0 +1,78 @@
+package einstein.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import einstein.task.TagDictionary;
+
+/**
+ * Maps every tag in use to the ids of the tasks that carry it.
+ * Tags are identified by their {@link TagDictionary} ids, so the posting lists are kept in an array indexed by id.
+ */
+public class TagIndex {
+    private static final PostingList EMPTY = new PostingList();
+
+    private PostingList[] postings = new PostingList[16];
+
+    /**
+     * Records that a task carries a tag.
+     *
+     * @param id    The internal id of the task.
+     * @param tagId The dictionary id of the tag.
+     */
+    public void add(int id, int tagId) {
+        assert tagId >= 0 : "Tag id cannot be negative";
+        if (tagId >= postings.length) {
+            postings = Arrays.copyOf(postings, Math.max(tagId + 1, postings.length * 2));
+        }
+        if (postings[tagId] == null) {
+            postings[tagId] = new PostingList();
+        }
+        postings[tagId].add(id);
+    }
+
+    /**
+     * Records that a task no longer carries a tag.
+     *
+     * @param id    The internal id of the task.
+     * @param tagId The dictionary id of the tag.
+     */
+    public void remove(int id, int tagId) {
+        PostingList list = tagId >= 0 && tagId < postings.length ? postings[tagId] : null;
+        if (list == null) {
+            return;
+        }
+        list.remove(id);
+        if (list.isEmpty()) {
+            postings[tagId] = null;
+        }
+    }
+
+    /**
+     * Removes the given tasks from every posting list in a single pass over each.
+     *
+     * @param ids The internal ids of the tasks to remove.
+     */
+    public void removeAll(BitSet ids) {
+        for (int tagId = 0; tagId < postings.length; tagId++) {
+            if (postings[tagId] != null) {
+                postings[tagId].removeAll(ids);
+                if (postings[tagId].isEmpty()) {
+                    postings[tagId] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks carrying a tag.
+     *
+     * @param tag The tag.
+     * @return The ids of the tasks carrying the tag, which must not be modified.
+     */
+    public PostingList find(String tag) {
+        int tagId = TagDictionary.find(tag);
+        PostingList list = tagId >= 0 && tagId < postings.length ? postings[tagId] : null;
+        return list == null ? EMPTY : list;
+    }
+}
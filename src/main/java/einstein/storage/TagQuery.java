@@ -0,0 +1,93 @@
+package einstein.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import einstein.exception.EinsteinException;
+
+/**
+ * Represents a boolean query over task tags, such as {@code work AND urgent OR home NOT done}.
+ * {@code NOT} binds tighter than {@code AND}, which binds tighter than {@code OR}, and tags written next to each
+ * other without an operator are joined by {@code AND}. Operators are not case-sensitive.
+ * Every group joined by {@code AND} must contain a tag without {@code NOT}, so a query is answered from the
+ * posting lists of its tags alone and its cost does not depend on the total number of tasks.
+ */
+public class TagQuery {
+    private final List<Clause> clauses = new ArrayList<>();
+
+    /**
+     * Represents the tags of a group joined by {@code AND}.
+     */
+    private static class Clause {
+        private final List<String> included = new ArrayList<>();
+        private final List<String> excluded = new ArrayList<>();
+    }
+
+    /**
+     * Parses a tag query.
+     *
+     * @param query The query to parse.
+     * @throws EinsteinException If the query is empty or malformed.
+     */
+    public TagQuery(String query) throws EinsteinException {
+        assert query != null : "Query cannot be null";
+        Clause clause = new Clause();
+        boolean isNegated = false;
+        for (String token : query.trim().split("\\s+")) {
+            if (token.equalsIgnoreCase("OR")) {
+                addClause(clause, isNegated);
+                clause = new Clause();
+                isNegated = false;
+            } else if (token.equalsIgnoreCase("AND")) {
+                checkOperand(isNegated);
+            } else if (token.equalsIgnoreCase("NOT")) {
+                checkOperand(isNegated);
+                isNegated = true;
+            } else if (!token.isEmpty()) {
+                (isNegated ? clause.excluded : clause.included).add(token);
+                isNegated = false;
+            }
+        }
+        addClause(clause, isNegated);
+    }
+
+    private static void checkOperand(boolean isNegated) throws EinsteinException {
+        if (isNegated) {
+            throw new EinsteinException("NOT must be followed by a tag!");
+        }
+    }
+
+    private void addClause(Clause clause, boolean isNegated) throws EinsteinException {
+        checkOperand(isNegated);
+        if (clause.included.isEmpty()) {
+            throw new EinsteinException("Every part of a tag query needs at least one tag without NOT! "
+                    + "Use: tag-query <tag> [AND|OR|NOT <tag>]...");
+        }
+        clauses.add(clause);
+    }
+
+    /**
+     * Evaluates the query against a tag index.
+     * Each group intersects the posting lists of its tags, shortest first, and subtracts the excluded tags;
+     * the groups are then merged.
+     *
+     * @param index The index to look the tags up in.
+     * @return The ids of the matching tasks, in increasing order.
+     */
+    public PostingList evaluate(TagIndex index) {
+        assert index != null : "Tag index cannot be null";
+        PostingList result = new PostingList();
+        for (Clause clause : clauses) {
+            PostingList[] lists = new PostingList[clause.included.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = index.find(clause.included.get(i));
+            }
+            PostingList matches = PostingList.intersect(lists);
+            for (String tag : clause.excluded) {
+                matches = PostingList.difference(matches, index.find(tag));
+            }
+            result = PostingList.union(result, matches);
+        }
+        return result;
+    }
+}
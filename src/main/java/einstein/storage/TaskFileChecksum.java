@@ -0,0 +1,87 @@
+package einstein.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+import einstein.exception.EinsteinException;
+
+/**
+ * Computes and verifies the CRC32C checksum trailer of text task files.
+ * The trailer is a final {@code # crc32c <hex>} line covering every byte before it.
+ * Files without a trailer, such as files written by hand or by older versions, are loaded unverified.
+ */
+public class TaskFileChecksum {
+    private static final String TRAILER_PREFIX = "# crc32c ";
+    private static final int TRAILER_LENGTH = TRAILER_PREFIX.length() + 8 + 1;
+
+    /**
+     * Returns the given task file data followed by its checksum trailer.
+     *
+     * @param data The task file data.
+     * @return The data with the trailer appended.
+     */
+    public static byte[] appendTrailer(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        String trailer = TRAILER_PREFIX + String.format("%08x", crc.getValue()) + "\n";
+        byte[] trailerBytes = trailer.getBytes(StandardCharsets.US_ASCII);
+        byte[] result = new byte[data.length + trailerBytes.length];
+        System.arraycopy(data, 0, result, 0, data.length);
+        System.arraycopy(trailerBytes, 0, result, data.length, trailerBytes.length);
+        return result;
+    }
+
+    /**
+     * Verifies the checksum trailer of the task file in the buffer, if it has one.
+     *
+     * @param buffer The buffer holding the task file.
+     * @param size   The size of the task file.
+     * @return The offset just past the task data, which excludes the trailer.
+     * @throws EinsteinException If the checksum does not match the data.
+     */
+    public static int verifyTrailer(ByteBuffer buffer, int size) throws EinsteinException {
+        int trailerStart = size - TRAILER_LENGTH;
+        if (!hasTrailerAt(buffer, trailerStart, size)) {
+            return size;
+        }
+        long expected;
+        try {
+            byte[] hex = new byte[8];
+            buffer.get(trailerStart + TRAILER_PREFIX.length(), hex);
+            expected = Long.parseLong(new String(hex, StandardCharsets.US_ASCII), 16);
+        } catch (NumberFormatException e) {
+            throw new EinsteinException("Corrupted checksum found in task file.");
+        }
+        if (compute(buffer, 0, trailerStart) != expected) {
+            throw new EinsteinException("Task file is corrupted: its checksum does not match its contents.");
+        }
+        return trailerStart;
+    }
+
+    private static boolean hasTrailerAt(ByteBuffer buffer, int start, int size) {
+        if (start < 0 || (start > 0 && buffer.get(start - 1) != '\n') || buffer.get(size - 1) != '\n') {
+            return false;
+        }
+        for (int i = 0; i < TRAILER_PREFIX.length(); i++) {
+            if (buffer.get(start + i) != TRAILER_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the CRC32C checksum of a range of the buffer.
+     *
+     * @param buffer The buffer holding the data.
+     * @param start  The offset of the first byte.
+     * @param end    The offset just past the last byte.
+     * @return The checksum.
+     */
+    public static long compute(ByteBuffer buffer, int start, int end) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start, end - start));
+        return crc.getValue();
+    }
+}
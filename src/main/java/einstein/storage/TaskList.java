@@ -1,21 +1,76 @@
 package einstein.storage;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
 
 import einstein.exception.EinsteinException;
+import einstein.task.Event;
+import einstein.task.Priority;
+import einstein.task.TagDictionary;
 import einstein.task.Task;
+import einstein.util.DateTimeCodec;
 
 /**
  * Manages a list of tasks. This class provides methods to add, delete, and modify tasks.
+ * Every task is given an internal id in increasing list order, which the search indexes refer to.
+ * Searches go through a word index and a trigram index, so they do not scan every description,
+ * tasks are looked up by date through a sorted date index, events are looked up by time span
+ * through an interval tree, and tags are looked up through a tag index.
+ * The ids of done tasks, pending tasks and tasks of each priority are kept in bitsets, so filtering by status
+ * and priority combines bitsets instead of checking every task.
+ * Tags, done status and priority must be changed through this class so that the indexes stay up to date.
+ * The ids start at 1 and are never reused, so they also serve as stable task ids that commands can address tasks by.
+ * An array maps every id to the task's slot in the list, so an id is resolved to its task in constant time.
+ * Deleting a task only leaves a tombstone in its slot; the tombstones are compacted away in a single pass
+ * the next time positions are needed, so deleting many tasks does not shift the list once per task.
+ * The ids of deleted tasks are left in the posting lists of the search indexes and skipped by lookups,
+ * until enough have built up to purge them from every posting list in one pass.
+ * A task list is safe to share between threads. Queries hold a read lock, so any number of them run in parallel,
+ * while changes hold the write lock and are applied one at a time.
+ * The tasks are kept in a {@link PersistentVector}, and a changed task is copied rather than changed in place,
+ * so every change creates a new version of the list that shares most of its structure with the previous one.
+ * Once a change is complete its version is published, and {@link #getTasks()} hands out the latest published
+ * version without locking. Readers therefore never block writers, and never see a half-applied change.
+ * Queries that find tasks by position return the positions in a {@link QueryResult} together with the version
+ * they were found in, so the positions still point at the right tasks after later changes to the list.
+ * Every query reads the indexes and the tasks under the same lock, so it never combines two versions;
+ * separate calls may see different versions, so whatever must agree has to come from a single call.
  */
 public class TaskList {
-    private ArrayList<Task> tasks;
+    private static final int SHORT_WORD_LENGTH = 4;
+    /** Deleted ids are purged from the posting lists once they number more than a quarter of the live tasks. */
+    private static final int PURGE_RATIO = 4;
+
+    private PersistentVector<Task> tasks;
+    private volatile PersistentVector<Task> snapshot;
+    private int[] ids;
+    private int[] slotById = new int[16];
+    private int nextId = 1;
+    private int tombstoneCount;
+    private final BitSet deletedIds = new BitSet();
+    private int deletedCount;
+    private final WordIndex wordIndex = new WordIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final DateIndex dateIndex = new DateIndex();
+    private final IntervalTree eventIndex = new IntervalTree();
+    private final TagIndex tagIndex = new TagIndex();
+    private final BitSet doneIds = new BitSet();
+    private final BitSet pendingIds = new BitSet();
+    private final BitSet[] priorityIds = new BitSet[Priority.values().length];
+    private final StampedLock lock = new StampedLock();
 
     /**
      * Creates an empty task list.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -24,7 +79,15 @@ public class TaskList {
      * @param tasks The list of tasks to initialize with.
      */
     public TaskList(ArrayList<Task> tasks) {
-        this.tasks = tasks;
+        this.tasks = PersistentVector.copyOf(tasks);
+        for (int i = 0; i < priorityIds.length; i++) {
+            priorityIds[i] = new BitSet();
+        }
+        this.ids = new int[Math.max(tasks.size(), 16)];
+        for (int i = 0; i < tasks.size(); i++) {
+            index(i, tasks.get(i));
+        }
+        this.snapshot = this.tasks;
     }
 
     /**
@@ -33,7 +96,53 @@ public class TaskList {
      * @param task The task to be added.
      */
     public void addTask(Task task) {
-        tasks.add(task);
+        addTasks(List.of(task));
+    }
+
+    /**
+     * Adds several tasks to the task list as a single change, so readers see either none or all of them.
+     *
+     * @param addedTasks The tasks to be added, in order.
+     */
+    public void addTasks(List<Task> addedTasks) {
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            for (Task task : addedTasks) {
+                tasks = tasks.plus(task);
+                if (tasks.size() > ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                index(tasks.size() - 1, task);
+            }
+            snapshot = tasks;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void index(int position, Task task) {
+        int id = nextId++;
+        ids[position] = id;
+        if (id >= slotById.length) {
+            slotById = Arrays.copyOf(slotById, slotById.length * 2);
+        }
+        slotById[id] = position;
+        wordIndex.add(id, task.getDescription());
+        trigramIndex.add(id, task.getDescription());
+        dateIndex.add(id, task);
+        for (int tagId : task.getTagIds()) {
+            tagIndex.add(id, tagId);
+        }
+        (task.getIsDone() ? doneIds : pendingIds).set(id);
+        if (task.getPriority() != null) {
+            priorityIds[task.getPriority().ordinal()].set(id);
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            long from = DateTimeCodec.toEpochMinute(event.getFrom());
+            eventIndex.add(id, from, DateTimeCodec.toEpochMinute(event.getTo()));
+        }
     }
 
     /**
@@ -43,10 +152,285 @@ public class TaskList {
      * @throws EinsteinException If the index is invalid.
      */
     public void deleteTask(int index) throws EinsteinException {
+        deleteTasks(index);
+    }
+
+    /**
+     * Deletes several tasks from the task list by their indexes before any of them is deleted.
+     * The tasks are tombstoned and the list is compacted once, so the cost is linear in the list size
+     * however many tasks are deleted.
+     *
+     * @param indexes The indexes of the tasks to delete (zero-based). Repeated indexes are deleted once.
+     * @throws EinsteinException If an index is invalid, in which case no task is deleted.
+     */
+    public void deleteTasks(int... indexes) throws EinsteinException {
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            for (int index : indexes) {
+                checkIndex(index);
+            }
+            for (int index : indexes) {
+                if (tasks.get(index) != null) {
+                    tombstone(index);
+                }
+            }
+            snapshot = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Deletes a task by its id in O(log n) time, which is spent removing it from the event index.
+     * The list is compacted the next time positions are needed.
+     *
+     * @param id The id of the task to delete.
+     * @throws EinsteinException If no task has the id.
+     */
+    public void deleteTaskById(int id) throws EinsteinException {
+        long stamp = lock.writeLock();
+        try {
+            tombstone(getSlot(id));
+            snapshot = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void tombstone(int slot) {
+        Task task = tasks.get(slot);
+        tasks = tasks.with(slot, null);
+        int id = ids[slot];
+        deletedIds.set(id);
+        deletedCount++;
+        doneIds.clear(id);
+        pendingIds.clear(id);
+        if (task.getPriority() != null) {
+            priorityIds[task.getPriority().ordinal()].clear(id);
+        }
+        if (task instanceof Event) {
+            eventIndex.remove(id, DateTimeCodec.toEpochMinute(((Event) task).getFrom()));
+        }
+        slotById[id] = -1;
+        tombstoneCount++;
+    }
+
+    /**
+     * Removes the tombstones left by deletions, moving every later task down in a single pass,
+     * and publishes the compacted version. The deleted ids are purged from the posting lists too
+     * once there are enough of them.
+     */
+    private void compact() {
+        if (tombstoneCount == 0) {
+            return;
+        }
+        ArrayList<Task> live = new ArrayList<>(tasks.size() - tombstoneCount);
+        for (int slot = 0; slot < tasks.size(); slot++) {
+            Task task = tasks.get(slot);
+            if (task != null) {
+                ids[live.size()] = ids[slot];
+                slotById[ids[slot]] = live.size();
+                live.add(task);
+            }
+        }
+        tasks = PersistentVector.copyOf(live);
+        tombstoneCount = 0;
+        snapshot = tasks;
+        if (deletedCount * PURGE_RATIO > tasks.size()) {
+            purgeDeletedIds();
+        }
+    }
+
+    /**
+     * Removes the deleted ids from the posting lists, walking each posting list once.
+     */
+    private void purgeDeletedIds() {
+        wordIndex.removeAll(deletedIds);
+        trigramIndex.removeAll(deletedIds);
+        dateIndex.removeAll(deletedIds);
+        tagIndex.removeAll(deletedIds);
+        deletedIds.clear();
+        deletedCount = 0;
+    }
+
+    /**
+     * Leaves out the ids of deleted tasks that have not been purged from the posting lists yet.
+     *
+     * @param ids The ids found in a posting list, which may be changed.
+     * @return The ids of tasks still in the list, in the same order.
+     */
+    private int[] skipDeleted(int[] ids) {
+        if (deletedCount == 0) {
+            return ids;
+        }
+        int count = 0;
+        for (int id : ids) {
+            if (!deletedIds.get(id)) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Replaces a task by its changed copy and publishes the new version of the list.
+     * The list must not hold tombstones.
+     */
+    private void replaceTask(int index, Task task) {
+        assert tombstoneCount == 0 : "Only a compacted list can be published";
+        tasks = tasks.with(index, task);
+        snapshot = tasks;
+    }
+
+    /**
+     * Acquires a read lock, first compacting the list under the write lock if it holds tombstones,
+     * so that positions can be read while holding the returned lock.
+     *
+     * @return The stamp of the read lock.
+     */
+    private long lockForReading() {
+        long stamp = lock.readLock();
+        if (tombstoneCount == 0) {
+            return stamp;
+        }
+        long writeStamp = lock.tryConvertToWriteLock(stamp);
+        if (writeStamp == 0L) {
+            lock.unlockRead(stamp);
+            writeStamp = lock.writeLock();
+        }
+        compact();
+        return lock.tryConvertToReadLock(writeStamp);
+    }
+
+    private void checkIndex(int index) throws EinsteinException {
         if (index < 0 || index >= tasks.size()) {
             throw new EinsteinException("Invalid task number! Please give me something valid!");
         }
-        tasks.remove(index);
+    }
+
+    private int getSlot(int id) throws EinsteinException {
+        int slot = id > 0 && id < nextId ? slotById[id] : -1;
+        if (slot < 0) {
+            throw new EinsteinException("There is no task with id " + id + "!");
+        }
+        return slot;
+    }
+
+    /**
+     * Finds the current index of a task by its id.
+     *
+     * @param id The id of the task.
+     * @return The zero-based index of the task.
+     * @throws EinsteinException If no task has the id.
+     */
+    public int getIndexById(int id) throws EinsteinException {
+        long stamp = lockForReading();
+        try {
+            return getSlot(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the id of a task by its index.
+     *
+     * @param index The index of the task (zero-based).
+     * @return The id of the task.
+     * @throws EinsteinException If the index is invalid.
+     */
+    public int getTaskId(int index) throws EinsteinException {
+        long stamp = lockForReading();
+        try {
+            checkIndex(index);
+            return ids[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets a task by its index.
+     *
+     * @param index The index of the task (zero-based).
+     * @return The task.
+     * @throws EinsteinException If the index is invalid.
+     */
+    public Task getTask(int index) throws EinsteinException {
+        long stamp = lockForReading();
+        try {
+            checkIndex(index);
+            return tasks.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Changes the description of a task by its index, keeping the search index up to date.
+     *
+     * @param index       The index of the task to change (zero-based).
+     * @param description The new description of the task.
+     * @throws EinsteinException If the index is invalid.
+     */
+    public void setTaskDescription(int index, String description) throws EinsteinException {
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            checkIndex(index);
+            Task task = tasks.get(index).copy();
+            wordIndex.remove(ids[index], task.getDescription());
+            trigramIndex.remove(ids[index], task.getDescription());
+            task.setDescription(description);
+            wordIndex.add(ids[index], description);
+            trigramIndex.add(ids[index], description);
+            replaceTask(index, task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds a tag to a task by its index, keeping the tag index up to date.
+     *
+     * @param index The index of the task to tag (zero-based).
+     * @param tag   The tag to add.
+     * @throws EinsteinException If the index is invalid.
+     */
+    public void addTaskTag(int index, String tag) throws EinsteinException {
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            checkIndex(index);
+            Task task = tasks.get(index).copy();
+            task.addTag(tag);
+            replaceTask(index, task);
+            tagIndex.add(ids[index], TagDictionary.find(tag));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a tag from a task by its index, keeping the tag index up to date.
+     *
+     * @param index The index of the task to untag (zero-based).
+     * @param tag   The tag to remove.
+     * @throws EinsteinException If the index is invalid or the task does not have the tag.
+     */
+    public void removeTaskTag(int index, String tag) throws EinsteinException {
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            checkIndex(index);
+            Task task = tasks.get(index).copy();
+            task.removeTag(tag);
+            replaceTask(index, task);
+            tagIndex.remove(ids[index], TagDictionary.find(tag));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -56,10 +440,18 @@ public class TaskList {
      * @throws EinsteinException If the index is invalid.
      */
     public void markTaskAsDone(int index) throws EinsteinException {
-        if (index < 0 || index >= tasks.size()) {
-            throw new EinsteinException("Invalid task number! Please give me something valid!");
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            checkIndex(index);
+            Task task = tasks.get(index).copy();
+            task.markAsDone();
+            replaceTask(index, task);
+            doneIds.set(ids[index]);
+            pendingIds.clear(ids[index]);
+        } finally {
+            lock.unlockWrite(stamp);
         }
-        tasks.get(index).markAsDone();
     }
 
     /**
@@ -69,19 +461,348 @@ public class TaskList {
      * @throws EinsteinException If the index is invalid.
      */
     public void markTaskAsNotDone(int index) throws EinsteinException {
-        if (index < 0 || index >= tasks.size()) {
-            throw new EinsteinException("Invalid task number! Please give me something valid!");
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            checkIndex(index);
+            Task task = tasks.get(index).copy();
+            task.markAsNotDone();
+            replaceTask(index, task);
+            doneIds.clear(ids[index]);
+            pendingIds.set(ids[index]);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the priority of a task by its index, keeping the priority index up to date.
+     *
+     * @param index    The index of the task to change (zero-based).
+     * @param priority The new priority of the task.
+     * @throws EinsteinException If the index is invalid.
+     */
+    public void setTaskPriority(int index, Priority priority) throws EinsteinException {
+        long stamp = lock.writeLock();
+        try {
+            compact();
+            checkIndex(index);
+            Task task = tasks.get(index).copy();
+            if (task.getPriority() != null) {
+                priorityIds[task.getPriority().ordinal()].clear(ids[index]);
+            }
+            task.setPriority(priority);
+            replaceTask(index, task);
+            priorityIds[priority.ordinal()].set(ids[index]);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain every whitespace-separated term of the query, ignoring case.
+     * Terms of three or more characters are narrowed down with the trigram index and shorter terms of letters
+     * and digits with the word index; the candidates are then verified against their descriptions.
+     *
+     * @param query The terms to look for.
+     * @return The matching tasks, in list order.
+     */
+    public ArrayList<Task> findTasks(String query) {
+        assert query != null : "Query cannot be null";
+        long stamp = lockForReading();
+        try {
+            List<String> terms = new ArrayList<>();
+            for (String term : TrigramIndex.fold(query).split("\\s+")) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+            int[] candidates = findCandidates(terms);
+            ArrayList<Task> result = new ArrayList<>();
+            int candidateCount = candidates == null ? tasks.size() : candidates.length;
+            for (int i = 0; i < candidateCount; i++) {
+                Task task = candidates == null ? tasks.get(i) : getTaskById(candidates[i]);
+                if (containsAll(TrigramIndex.fold(task.getDescription()), terms)) {
+                    result.add(task);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the ids of the tasks that may contain all terms.
+     *
+     * @return The candidate ids in increasing order, or null if no term can be looked up in an index.
+     */
+    private int[] findCandidates(List<String> terms) {
+        List<String> longTerms = new ArrayList<>();
+        int[] candidates = null;
+        for (String term : terms) {
+            if (term.length() >= TrigramIndex.GRAM_LENGTH) {
+                longTerms.add(term);
+            } else if (WordIndex.isWord(term)) {
+                candidates = intersect(candidates, wordIndex.findContaining(term));
+            }
+        }
+        if (!longTerms.isEmpty()) {
+            candidates = intersect(candidates, trigramIndex.findCandidates(longTerms));
+        }
+        return candidates == null ? null : skipDeleted(candidates);
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        if (first == null) {
+            return second;
+        }
+        int[] result = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        for (int id : first) {
+            if (Arrays.binarySearch(second, id) >= 0) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static boolean containsAll(String text, List<String> terms) {
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the tasks with words similar to every word of the query, tolerating typos.
+     * Words of up to four characters may be one edit away from the query word and longer words two edits.
+     * The tasks are ranked by their total edit distance to the query, closest first, and then by list order.
+     *
+     * @param query The words to look for.
+     * @return The matching tasks, closest first.
+     */
+    public ArrayList<Task> findSimilarTasks(String query) {
+        assert query != null : "Query cannot be null";
+        long stamp = lockForReading();
+        try {
+            Map<Integer, Integer> totalDistances = null;
+            for (String word : WordIndex.tokenize(query)) {
+                int maxDistance = word.length() <= SHORT_WORD_LENGTH ? 1 : 2;
+                Map<Integer, Integer> distances = wordIndex.findSimilar(word, maxDistance);
+                if (totalDistances == null) {
+                    totalDistances = distances;
+                    continue;
+                }
+                Map<Integer, Integer> combined = new HashMap<>();
+                for (Map.Entry<Integer, Integer> entry : totalDistances.entrySet()) {
+                    Integer distance = distances.get(entry.getKey());
+                    if (distance != null) {
+                        combined.put(entry.getKey(), entry.getValue() + distance);
+                    }
+                }
+                totalDistances = combined;
+            }
+            ArrayList<Task> result = new ArrayList<>();
+            if (totalDistances == null) {
+                return result;
+            }
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(totalDistances.entrySet());
+            ranked.sort(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            for (Map.Entry<Integer, Integer> entry : ranked) {
+                if (!deletedIds.get(entry.getKey())) {
+                    result.add(getTaskById(entry.getKey()));
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
         }
-        tasks.get(index).markAsNotDone();
     }
 
     /**
-     * Retrieves the list of tasks.
+     * Finds the deadlines due, and the events starting or ending, between the given dates.
      *
-     * @return An {@code ArrayList<Task>} containing all tasks.
+     * @param from The first date, inclusive.
+     * @param to   The last date, inclusive.
+     * @return The zero-based indexes of the matching tasks in list order, with the version they index.
      */
-    public ArrayList<Task> getTasks() {
-        return tasks;
+    public QueryResult<int[]> findTasksBetween(LocalDate from, LocalDate to) {
+        assert from != null && to != null : "Dates cannot be null";
+        long stamp = lockForReading();
+        try {
+            int[] matches = skipDeleted(dateIndex.find(from, to));
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = getPosition(matches[i]);
+            }
+            return new QueryResult<>(tasks, matches);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the events whose time spans overlap the given span.
+     * An event ending exactly when the span starts, or starting exactly when it ends, does not overlap it.
+     *
+     * @param from The start of the span.
+     * @param to   The end of the span.
+     * @return The zero-based indexes of the overlapping events in list order, with the version they index.
+     */
+    public QueryResult<int[]> findEventsBetween(LocalDateTime from, LocalDateTime to) {
+        assert from != null && to != null : "Times cannot be null";
+        assert !to.isBefore(from) : "End time cannot be before start time";
+        long stamp = lockForReading();
+        try {
+            long fromMinute = DateTimeCodec.toEpochMinute(from);
+            int[] matches = eventIndex.findOverlapping(fromMinute, DateTimeCodec.toEpochMinute(to));
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = getPosition(matches[i]);
+            }
+            return new QueryResult<>(tasks, matches);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds every pair of events whose time spans overlap.
+     *
+     * @return The pairs of zero-based indexes, each with the earlier index first, in list order,
+     *         with the version they index.
+     */
+    public QueryResult<List<int[]>> findClashes() {
+        long stamp = lockForReading();
+        try {
+            List<int[]> clashes = eventIndex.findOverlappingPairs();
+            for (int[] clash : clashes) {
+                clash[0] = getPosition(clash[0]);
+                clash[1] = getPosition(clash[1]);
+            }
+            return new QueryResult<>(tasks, clashes);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the tasks whose tags match a tag query.
+     * Only the posting lists of the tags in the query are read, so the cost does not depend on the number of tasks.
+     *
+     * @param query The tag query.
+     * @return The zero-based indexes of the matching tasks in list order, with the version they index.
+     */
+    public QueryResult<int[]> findTasksWithTags(TagQuery query) {
+        assert query != null : "Query cannot be null";
+        long stamp = lockForReading();
+        try {
+            PostingList matches = query.evaluate(tagIndex);
+            int[] positions = new int[matches.size()];
+            int count = 0;
+            for (int i = 0; i < matches.size(); i++) {
+                if (!deletedIds.get(matches.get(i))) {
+                    positions[count++] = getPosition(matches.get(i));
+                }
+            }
+            return new QueryResult<>(tasks, Arrays.copyOf(positions, count));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the tasks with the given done status and priority by intersecting their bitsets.
+     *
+     * @param isDone   The done status to match, or null to match any status.
+     * @param priority The priority to match, or null to match any priority.
+     * @return The zero-based indexes of the matching tasks in list order, with the version they index.
+     */
+    public QueryResult<int[]> filterTasks(Boolean isDone, Priority priority) {
+        long stamp = lockForReading();
+        try {
+            BitSet matches;
+            if (isDone == null && priority == null) {
+                matches = (BitSet) doneIds.clone();
+                matches.or(pendingIds);
+            } else if (isDone == null) {
+                matches = priorityIds[priority.ordinal()];
+            } else {
+                matches = (BitSet) (isDone ? doneIds : pendingIds).clone();
+                if (priority != null) {
+                    matches.and(priorityIds[priority.ordinal()]);
+                }
+            }
+            int[] positions = new int[matches.cardinality()];
+            int count = 0;
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                positions[count++] = getPosition(id);
+            }
+            return new QueryResult<>(tasks, positions);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Task getTaskById(int id) {
+        return tasks.get(getPosition(id));
+    }
+
+    private int getPosition(int id) {
+        assert tombstoneCount == 0 : "Positions are only known once the list is compacted";
+        int position = slotById[id];
+        assert position >= 0 : "Indexed id should belong to a task in the list";
+        return position;
+    }
+
+    /**
+     * Retrieves a snapshot of the list of tasks in constant time.
+     * Later changes to the task list, or to its tasks, are not reflected in the snapshot.
+     * The latest published version is returned without locking; only if deletions have left tombstones
+     * since then is the list compacted first.
+     *
+     * @return An unmodifiable list containing all tasks, in list order.
+     */
+    public List<Task> getTasks() {
+        PersistentVector<Task> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long stamp = lockForReading();
+        try {
+            return tasks;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retrieves the ids of all tasks.
+     *
+     * @return A new array holding the id of the task at each index, in list order.
+     */
+    public int[] getTaskIds() {
+        long stamp = lockForReading();
+        try {
+            return Arrays.copyOf(ids, tasks.size());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retrieves the tasks together with their ids, both taken from the same version of the list.
+     *
+     * @return The tasks in list order, with an array holding the id of the task at each index.
+     */
+    public QueryResult<int[]> getTasksWithIds() {
+        long stamp = lockForReading();
+        try {
+            return new QueryResult<>(tasks, Arrays.copyOf(ids, tasks.size()));
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     /**
@@ -90,6 +811,16 @@ public class TaskList {
      * @return The number of tasks.
      */
     public int getTaskCount() {
-        return tasks.size();
+        long stamp = lock.tryOptimisticRead();
+        int count = tasks.size() - tombstoneCount;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = tasks.size() - tombstoneCount;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
     }
 }
@@ -0,0 +1,163 @@
+package einstein.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps every sequence of three characters in lower-cased task descriptions to the ids of the tasks containing it.
+ * Any substring of at least three characters can only occur in tasks that contain all of its trigrams,
+ * so intersecting a few of their posting lists narrows a substring search down to a small set of candidates,
+ * which the caller then verifies. Posting lists are compressed to keep the index small on large lists.
+ */
+public class TrigramIndex {
+    /** The length of the sequences indexed, and so the shortest substring the index can narrow down. */
+    public static final int GRAM_LENGTH = 3;
+
+    private static final int MAX_LISTS_INTERSECTED = 3;
+
+    private final Map<Long, CompressedPostingList> postings = new HashMap<>();
+
+    /**
+     * Indexes the trigrams of a task's description.
+     *
+     * @param id          The internal id of the task.
+     * @param description The description of the task.
+     */
+    public void add(int id, String description) {
+        for (long trigram : getTrigrams(fold(description))) {
+            postings.computeIfAbsent(trigram, key -> new CompressedPostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task's description from the index.
+     *
+     * @param id          The internal id of the task.
+     * @param description The description the task was indexed with.
+     */
+    public void remove(int id, String description) {
+        for (long trigram : getTrigrams(fold(description))) {
+            CompressedPostingList list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Removes the given tasks from the index, decoding and re-encoding each posting list once.
+     *
+     * @param ids The internal ids of the tasks to remove.
+     */
+    public void removeAll(BitSet ids) {
+        postings.values().removeIf(list -> {
+            list.removeAll(ids);
+            return list.isEmpty();
+        });
+    }
+
+    /**
+     * Finds the tasks that may contain all of the given case-folded terms.
+     * Every task that does contain them is returned, but some returned tasks may not,
+     * so callers must verify the candidates.
+     *
+     * @param terms The case-folded terms, as returned by {@link #fold(String)}.
+     * @return The ids of the candidate tasks in increasing order,
+     *         or null if no term is long enough to narrow the search.
+     */
+    public int[] findCandidates(List<String> terms) {
+        List<CompressedPostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (long trigram : getTrigrams(term)) {
+                CompressedPostingList list = postings.get(trigram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        // The rarest trigrams narrow the search the most; verifying a few extra candidates is cheaper
+        // than decoding the long lists of common trigrams
+        lists.sort(Comparator.comparingInt(CompressedPostingList::size));
+        int[] candidates = lists.get(0).decode();
+        for (int i = 1; i < Math.min(lists.size(), MAX_LISTS_INTERSECTED) && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i).decode());
+        }
+        return candidates;
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Folds the case of the text so that searches ignore case.
+     *
+     * @param text The text to fold.
+     * @return The case-folded text.
+     */
+    public static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] getTrigrams(String text) {
+        int count = Math.max(0, text.length() - GRAM_LENGTH + 1);
+        long[] trigrams = new long[count];
+        for (int i = 0; i < count; i++) {
+            trigrams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Returns the number of bytes held by the posting lists, for measuring the footprint of the index.
+     *
+     * @return The total capacity of the encoded posting lists.
+     */
+    public long getPostingBytes() {
+        long bytes = 0;
+        for (CompressedPostingList list : postings.values()) {
+            bytes += list.getCapacity();
+        }
+        return bytes;
+    }
+
+    public int getTrigramCount() {
+        return postings.size();
+    }
+}
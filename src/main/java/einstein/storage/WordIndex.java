@@ -0,0 +1,186 @@
+package einstein.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps every word in task descriptions to the ids of the tasks that contain it.
+ * Words are runs of letters and digits compared case-insensitively. Scanning the distinct words
+ * finds every task containing a short run of letters and digits without scanning every description.
+ * The distinct words are also kept in a {@link BkTree} for finding words close to a mistyped one.
+ * The tree is only built on the first such search, so lists that are never searched that way do not pay for it.
+ * Searches may run concurrently with each other, but not with changes to the index.
+ */
+public class WordIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private volatile BkTree dictionary;
+
+    /**
+     * Indexes the words of a task's description.
+     *
+     * @param id          The internal id of the task.
+     * @param description The description of the task.
+     */
+    public void add(int id, String description) {
+        for (String word : tokenize(description)) {
+            PostingList list = postings.get(word);
+            if (list == null) {
+                list = new PostingList();
+                postings.put(word, list);
+                if (dictionary != null) {
+                    dictionary.add(word);
+                }
+            }
+            list.add(id);
+        }
+    }
+
+    /**
+     * Removes a task's description from the index.
+     *
+     * @param id          The internal id of the task.
+     * @param description The description the task was indexed with.
+     */
+    public void remove(int id, String description) {
+        for (String word : tokenize(description)) {
+            PostingList list = postings.get(word);
+            if (list == null) {
+                continue;
+            }
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+        dropSparseDictionary();
+    }
+
+    /**
+     * Removes the given tasks from the index in a single pass over the posting lists.
+     *
+     * @param ids The internal ids of the tasks to remove.
+     */
+    public void removeAll(BitSet ids) {
+        postings.values().removeIf(list -> {
+            list.removeAll(ids);
+            return list.isEmpty();
+        });
+        dropSparseDictionary();
+    }
+
+    private void dropSparseDictionary() {
+        // Words cannot be removed from a BK-tree, so it is dropped and rebuilt once most of its words are gone
+        if (dictionary != null && dictionary.size() > 2 * postings.size() + 16) {
+            dictionary = null;
+        }
+    }
+
+    /**
+     * Finds the tasks with a word within the given edit distance of the given lower-case word.
+     *
+     * @param word        The word to look for, in lower case.
+     * @param maxDistance The largest edit distance allowed.
+     * @return The ids of the matching tasks, each mapped to the smallest distance of its matching words.
+     */
+    public Map<Integer, Integer> findSimilar(String word, int maxDistance) {
+        BkTree tree = dictionary;
+        if (tree == null) {
+            // Built fully before it is published, so concurrent searches never see a half-built tree
+            tree = new BkTree();
+            for (String known : postings.keySet()) {
+                tree.add(known);
+            }
+            dictionary = tree;
+        }
+        Map<Integer, Integer> distances = new HashMap<>();
+        List<BkTree.Match> matches = tree.search(word, maxDistance);
+        for (BkTree.Match match : matches) {
+            PostingList list = postings.get(match.getWord());
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                distances.merge(list.get(i), match.getDistance(), Math::min);
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Finds the tasks with a word containing the given lower-case letters and digits.
+     * Only the distinct words are scanned, so the cost depends on the vocabulary rather than the number of tasks.
+     *
+     * @param term The letters and digits to look for, in lower case.
+     * @return The ids of the matching tasks in increasing order.
+     */
+    public int[] findContaining(String term) {
+        assert isWord(term) : "Term must consist of letters and digits only";
+        int[] ids = new int[0];
+        int count = 0;
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            if (!entry.getKey().contains(term)) {
+                continue;
+            }
+            PostingList list = entry.getValue();
+            if (count + list.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(count + list.size(), ids.length * 2));
+            }
+            for (int i = 0; i < list.size(); i++) {
+                ids[count++] = list.get(i);
+            }
+        }
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * Checks if the text consists of letters and digits only, so that it can only occur within a single word.
+     *
+     * @param text The text to check.
+     * @return true if the text is non-empty and has only letters and digits, false otherwise.
+     */
+    public static boolean isWord(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the text into its distinct lower-case words.
+     *
+     * @param text The text to split.
+     * @return The words in order of first appearance.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,223 @@
+package einstein.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import einstein.task.Task;
+
+/**
+ * Writes changes to disk on a dedicated thread so that commands do not wait for disk I/O.
+ * Changes submitted within the configured delay of the first pending change are written together
+ * in a single group commit: journal records are appended in one write and only the latest full
+ * snapshot of the task list is written. {@link #flush()} waits until everything submitted so far is on disk.
+ * With a delay of {@link Long#MAX_VALUE}, changes are only written when they are flushed.
+ */
+public class WriteBehindWriter {
+    /** The default time a change may wait before its group is committed. */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 50;
+
+    private final Storage storage;
+    private final long maxDelayMillis;
+    private final Thread thread;
+    private List<String> pendingRecords = new ArrayList<>();
+    private ArrayList<Task> pendingSnapshot;
+    private long firstPendingAt;
+    private long submittedCount;
+    private long writtenCount;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+    private IOException failure;
+
+    /**
+     * Constructs a new WriteBehindWriter and starts its writer thread.
+     *
+     * @param storage        The storage to write changes through.
+     * @param maxDelayMillis The longest time a change may wait before its group is committed.
+     */
+    public WriteBehindWriter(Storage storage, long maxDelayMillis) {
+        assert storage != null : "Storage cannot be null";
+        assert maxDelayMillis >= 0 : "Delay cannot be negative";
+        this.storage = storage;
+        this.maxDelayMillis = maxDelayMillis;
+        this.thread = new Thread(this::run, "einstein-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues journal records to be appended in the next group commit.
+     *
+     * @param records The encoded records to append.
+     * @throws IOException If an earlier group commit failed. The records are still queued.
+     */
+    public synchronized void submitRecords(List<String> records) throws IOException {
+        assert records != null : "Records cannot be null";
+        markPending();
+        pendingRecords.addAll(records);
+        throwPendingFailure();
+    }
+
+    /**
+     * Queues a full snapshot of the task list to be written in the next group commit,
+     * replacing any snapshot that has not been written yet.
+     *
+     * @param tasks A copy of the task list holding tasks that are never changed again, such as a version
+     *              published by {@link TaskList}, since they are encoded on the writer thread.
+     * @throws IOException If an earlier group commit failed. The snapshot is still queued.
+     */
+    public synchronized void submitSnapshot(ArrayList<Task> tasks) throws IOException {
+        assert tasks != null : "Tasks list cannot be null";
+        markPending();
+        pendingSnapshot = tasks;
+        throwPendingFailure();
+    }
+
+    private void markPending() {
+        assert !isClosed : "Writer has been closed";
+        if (!hasPendingWork()) {
+            firstPendingAt = System.currentTimeMillis();
+        }
+        submittedCount++;
+        notifyAll();
+    }
+
+    private boolean hasPendingWork() {
+        return pendingSnapshot != null || !pendingRecords.isEmpty();
+    }
+
+    private void throwPendingFailure() throws IOException {
+        if (failure != null) {
+            IOException e = failure;
+            failure = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes all queued changes immediately and waits until they are on disk.
+     *
+     * @throws IOException If writing a queued change failed, in which case the change stays queued and is retried,
+     *                     or if the writer thread has stopped before writing every change.
+     */
+    public synchronized void flush() throws IOException {
+        long target = submittedCount;
+        if (writtenCount < target) {
+            isFlushRequested = true;
+            notifyAll();
+        }
+        try {
+            while (writtenCount < target && failure == null && thread.isAlive()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while saving tasks");
+        }
+        throwPendingFailure();
+        if (writtenCount < target) {
+            throw new IOException("The writer thread stopped before all changes were saved");
+        }
+    }
+
+    /**
+     * Flushes all queued changes and stops the writer thread.
+     *
+     * @throws IOException If writing a queued change failed.
+     */
+    public void close() throws IOException {
+        flush();
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+    }
+
+    private void run() {
+        try {
+            writeBatches();
+        } finally {
+            // Wakes any flush waiting on this thread, so it notices the thread is gone
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void writeBatches() {
+        while (true) {
+            List<String> records;
+            ArrayList<Task> snapshot;
+            long batchCount;
+            synchronized (this) {
+                try {
+                    awaitBatch();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (!hasPendingWork()) {
+                    return;
+                }
+                records = pendingRecords;
+                snapshot = pendingSnapshot;
+                batchCount = submittedCount;
+                pendingRecords = new ArrayList<>();
+                pendingSnapshot = null;
+                isFlushRequested = false;
+            }
+            IOException error = write(records, snapshot);
+            synchronized (this) {
+                if (error == null) {
+                    writtenCount = batchCount;
+                } else {
+                    requeue(records, snapshot);
+                    failure = error;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until there is pending work and its group is due, either because the delay has passed
+     * or because a flush was requested.
+     */
+    private void awaitBatch() throws InterruptedException {
+        while (!hasPendingWork() && !isClosed) {
+            wait();
+        }
+        // Subtract the elapsed time from the delay rather than adding the delay to a time, which could overflow
+        long remaining = maxDelayMillis - (System.currentTimeMillis() - firstPendingAt);
+        while (!isFlushRequested && !isClosed && remaining > 0) {
+            wait(remaining);
+            remaining = maxDelayMillis - (System.currentTimeMillis() - firstPendingAt);
+        }
+    }
+
+    private IOException write(List<String> records, ArrayList<Task> snapshot) {
+        try {
+            if (snapshot != null) {
+                storage.writeSnapshot(snapshot);
+            }
+            if (!records.isEmpty()) {
+                storage.appendRecords(records);
+            }
+            return null;
+        } catch (IOException e) {
+            return e;
+        } catch (RuntimeException | Error e) {
+            // Fails the batch like an I/O error, so it is retried and reported instead of ending the thread
+            return new IOException("Error writing tasks: " + e, e);
+        }
+    }
+
+    private void requeue(List<String> records, ArrayList<Task> snapshot) {
+        records.addAll(pendingRecords);
+        pendingRecords = records;
+        if (pendingSnapshot == null) {
+            pendingSnapshot = snapshot;
+        }
+        // Retry after another delay instead of spinning on a failing disk
+        firstPendingAt = System.currentTimeMillis();
+    }
+}
@@ -1,7 +1,8 @@
 package einstein.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+
+import einstein.util.DateTimeCodec;
 
 /**
  * Represents a deadline task in the Einstein task management system.
@@ -48,6 +49,7 @@ public class Deadline extends Task {
         assert !by.isBefore(LocalDateTime.now())
                 : "New deadline should not be in the past";
         this.by = by;
+        markChanged();
     }
 
     /**
@@ -58,7 +60,6 @@ public class Deadline extends Task {
     @Override
     public String toString() {
         assert by != null : "Deadline date/time should not be null when converting to string";
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
-        return "[D]" + super.toString() + " (by: " + by.format(formatter) + ")";
+        return "[D]" + super.toString() + " (by: " + DateTimeCodec.formatForDisplay(by) + ")";
     }
 }
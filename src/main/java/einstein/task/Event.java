@@ -1,7 +1,8 @@
 package einstein.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+
+import einstein.util.DateTimeCodec;
 
 /**
  * Represents an event task in the Einstein task management system.
@@ -48,6 +49,7 @@ public class Event extends Task {
         assert from != null : "New start date/time cannot be null";
         assert !to.isBefore(from) : "New start date/time cannot be after end date/time";
         this.from = from;
+        markChanged();
     }
 
     /**
@@ -69,6 +71,7 @@ public class Event extends Task {
         assert to != null : "New end date/time cannot be null";
         assert !to.isBefore(from) : "New end date/time cannot be before start date/time";
         this.to = to;
+        markChanged();
     }
 
     /**
@@ -80,7 +83,7 @@ public class Event extends Task {
     @Override
     public String toString() {
         assert from != null && to != null : "Start and end date/time should not be null when converting to string";
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
-        return "[E]" + super.toString() + " (from: " + from.format(formatter) + " to: " + to.format(formatter) + ")";
+        return "[E]" + super.toString() + " (from: " + DateTimeCodec.formatForDisplay(from)
+                + " to: " + DateTimeCodec.formatForDisplay(to) + ")";
     }
 }
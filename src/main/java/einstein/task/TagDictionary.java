@@ -0,0 +1,80 @@
+package einstein.task;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns every tag used by any task to a small integer id, so each distinct tag string is stored once
+ * and tasks can keep their tags as sorted arrays of ids.
+ * Ids are handed out in the order tags are first seen and are never reused, even once no task carries the tag.
+ * Looking up a known tag or the tag of an id does not lock, so tasks may be tagged and displayed from several
+ * threads. Tags are few, so the id-to-tag array is simply copied whenever a new tag is interned.
+ */
+public final class TagDictionary {
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final Object lock = new Object();
+    private static volatile String[] tags = new String[0];
+
+    private TagDictionary() {
+    }
+
+    /**
+     * Returns the id of a tag, giving it a new id if it has not been seen before.
+     *
+     * @param tag The tag.
+     * @return The id of the tag.
+     */
+    public static int intern(String tag) {
+        assert tag != null : "Tag cannot be null";
+        Integer id = ids.get(tag);
+        if (id != null) {
+            return id;
+        }
+        synchronized (lock) {
+            id = ids.get(tag);
+            if (id != null) {
+                return id;
+            }
+            String[] newTags = Arrays.copyOf(tags, tags.length + 1);
+            newTags[tags.length] = tag;
+            // Published before the id, so a thread that sees the id also sees its tag
+            tags = newTags;
+            ids.put(tag, newTags.length - 1);
+            return newTags.length - 1;
+        }
+    }
+
+    /**
+     * Returns the id of a tag without interning it.
+     *
+     * @param tag The tag.
+     * @return The id of the tag, or -1 if no task has ever carried it.
+     */
+    public static int find(String tag) {
+        assert tag != null : "Tag cannot be null";
+        Integer id = ids.get(tag);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the tag with the given id.
+     *
+     * @param id The id of the tag.
+     * @return The tag.
+     */
+    public static String getTag(int id) {
+        String[] currentTags = tags;
+        assert id >= 0 && id < currentTags.length : "Unknown tag id";
+        return currentTags[id];
+    }
+
+    /**
+     * Returns the number of distinct tags interned so far.
+     *
+     * @return The number of tags.
+     */
+    public static int size() {
+        return tags.length;
+    }
+}
@@ -1,7 +1,8 @@
 package einstein.task;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import einstein.exception.EinsteinException;
 
@@ -9,13 +10,18 @@ import einstein.exception.EinsteinException;
  * Represents a generic task in the Einstein task management system.
  * A Task object corresponds to a task with a description, a status
  * indicating whether the task is done or not, and a set of tags.
+ * Tags are kept as a sorted array of ids from the {@link TagDictionary}, so untagged tasks allocate nothing for them
+ * and identical tags on different tasks share one string.
+ * Every change to a task bumps its version, which lets storage tell which tasks changed since they were last saved.
  */
-public class Task {
+public class Task implements Cloneable {
+    private static final int[] NO_TAGS = new int[0];
+
     private String description;
     private boolean isDone;
-    private Set<String> tags;
+    private int[] tagIds = NO_TAGS;
     private Priority priority;
-
+    private int version;
 
     /**
      * Constructs a Task object with a description. The task is initially marked as not done.
@@ -26,7 +32,6 @@ public class Task {
         assert description != null && !description.trim().isEmpty() : "Description cannot be null or empty";
         this.description = description;
         this.isDone = false;
-        this.tags = new HashSet<>();
     }
 
     /**
@@ -47,6 +52,7 @@ public class Task {
     public void setDescription(String description) {
         assert description != null && !description.trim().isEmpty() : "New description cannot be null or empty";
         this.description = description;
+        markChanged();
     }
 
     /**
@@ -65,6 +71,7 @@ public class Task {
      */
     public void setDone(boolean done) {
         isDone = done;
+        markChanged();
     }
 
     /**
@@ -81,6 +88,7 @@ public class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        markChanged();
     }
 
     /**
@@ -88,16 +96,28 @@ public class Task {
      */
     public void markAsNotDone() {
         this.isDone = false;
+        markChanged();
     }
 
     /**
-     * Adds a tag to the task.
+     * Adds a tag to the task. Adding a tag the task already has leaves the task unchanged.
      *
      * @param tag The tag to add.
      */
     public void addTag(String tag) {
         assert tag != null && !tag.trim().isEmpty() : "Tag cannot be null or empty";
-        tags.add(tag);
+        int id = TagDictionary.intern(tag);
+        int position = Arrays.binarySearch(tagIds, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        int[] newTagIds = new int[tagIds.length + 1];
+        System.arraycopy(tagIds, 0, newTagIds, 0, position);
+        newTagIds[position] = id;
+        System.arraycopy(tagIds, position, newTagIds, position + 1, tagIds.length - position);
+        tagIds = newTagIds;
+        markChanged();
     }
 
     /**
@@ -107,21 +127,51 @@ public class Task {
      */
     public void removeTag(String tag) throws EinsteinException {
         assert tag != null && !tag.trim().isEmpty() : "Tag cannot be null or empty";
-        if (!tags.contains(tag)) {
+        int id = TagDictionary.find(tag);
+        int position = id < 0 ? -1 : Arrays.binarySearch(tagIds, id);
+        if (position < 0) {
             throw new EinsteinException("Tag does not exist!");
         }
-        tags.remove(tag);
+        int[] newTagIds = tagIds.length == 1 ? NO_TAGS : new int[tagIds.length - 1];
+        System.arraycopy(tagIds, 0, newTagIds, 0, position);
+        System.arraycopy(tagIds, position + 1, newTagIds, position, tagIds.length - position - 1);
+        tagIds = newTagIds;
+        markChanged();
     }
 
     /**
      * Gets the tags associated with the task.
      *
-     * @return A set of tags.
+     * @return A new list of the tags, in the order they were first used by any task.
      */
-    public Set<String> getTags() {
+    public List<String> getTags() {
+        List<String> tags = new ArrayList<>(tagIds.length);
+        for (int id : tagIds) {
+            tags.add(TagDictionary.getTag(id));
+        }
         return tags;
     }
 
+    /**
+     * Gets the dictionary ids of the tags associated with the task.
+     *
+     * @return The sorted ids, which must not be modified.
+     */
+    public int[] getTagIds() {
+        return tagIds;
+    }
+
+    /**
+     * Checks if the task has the given tag.
+     *
+     * @param tag The tag to look for.
+     * @return true if the task has the tag, false otherwise.
+     */
+    public boolean hasTag(String tag) {
+        int id = TagDictionary.find(tag);
+        return id >= 0 && Arrays.binarySearch(tagIds, id) >= 0;
+    }
+
     /**
      * Sets the priority of the task.
      *
@@ -130,6 +180,7 @@ public class Task {
     public void setPriority(Priority priority) {
         assert priority != null : "Priority cannot be null";
         this.priority = priority;
+        markChanged();
     }
 
     /**
@@ -141,6 +192,36 @@ public class Task {
         return priority;
     }
 
+    /**
+     * Gets the version of the task, which changes every time the task is changed.
+     *
+     * @return The version of the task.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates a copy of the task with the same fields and version, which can be changed without affecting this task.
+     * The tag array is shared, which is safe because it is replaced rather than changed when tags change.
+     *
+     * @return The copy of the task.
+     */
+    public Task copy() {
+        try {
+            return (Task) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Tasks are cloneable", e);
+        }
+    }
+
+    /**
+     * Records that the task has changed. Subclasses must call this whenever they change their own fields.
+     */
+    protected void markChanged() {
+        version++;
+    }
+
     /**
      * Returns a string representation of the task, formatted as "[status_icon] description #tags [Priority: priority]".
      * The status icon represents whether the task is done or not.
@@ -150,8 +231,8 @@ public class Task {
     @Override
     public String toString() {
         StringBuilder tagsString = new StringBuilder();
-        for (String tag : tags) {
-            tagsString.append(" #").append(tag);
+        for (int id : tagIds) {
+            tagsString.append(" #").append(TagDictionary.getTag(id));
         }
         String priorityString = (priority != null) ? " [Priority: " + priority + "]" : "";
         assert priorityString != null : "Priority String cannot be null!";
@@ -2,20 +2,19 @@ package einstein.ui;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
-import einstein.task.Deadline;
-import einstein.task.Event;
 import einstein.task.Priority;
 import einstein.task.Task;
+import einstein.util.DateTimeCodec;
 
 /**
  * Represents the user interface for interacting with the Einstein task manager.
  * The <code>Ui</code> class provides methods to display information and read user input in a console-based environment.
  */
 public class Ui {
+    private Scanner scanner;
 
     /**
      * Displays the welcome message when the user enters.
@@ -49,7 +48,11 @@ public class Ui {
      */
     public String readCommand() {
         System.out.print("User\n> ");
-        return new Scanner(System.in).nextLine().trim();
+        if (scanner == null) {
+            // One scanner for the whole session, since a new one would drop the input the previous one buffered
+            scanner = new Scanner(System.in);
+        }
+        return scanner.nextLine().trim();
     }
 
     /**
@@ -71,7 +74,7 @@ public class Ui {
      *
      * @param tasks The list of tasks to be displayed.
      */
-    public String showTaskList(ArrayList<Task> tasks) {
+    public String showTaskList(List<Task> tasks) {
         assert tasks != null : "Task list should not be null";
         StringBuilder output = new StringBuilder("Here are the tasks in your list:\n\n");
         if (tasks.isEmpty()) {
@@ -88,45 +91,151 @@ public class Ui {
     }
 
     /**
-     * Displays the tasks occurring on a specific date.
+     * Displays the list of tasks together with their stable ids, which stay the same when earlier tasks are deleted.
      *
-     * @param tasks The list of tasks to be checked for the specified date.
-     * @param date  The date to filter the tasks by.
+     * @param tasks The list of tasks to be displayed.
+     * @param ids   The id of each task, in list order.
      */
-    public String showTasksByDate(ArrayList<Task> tasks, LocalDate date) {
-        assert tasks != null : "Task list should not be null";
-        assert date != null : "Date should not be null";
-        StringBuilder output = new StringBuilder("Here are the tasks occurring on "
-                + date.format(DateTimeFormatter.ofPattern("MMM dd yyyy")) + ":\n");
-        boolean found = false;
+    public String showTaskList(List<Task> tasks, int[] ids) {
+        assert tasks != null && ids != null : "Task list and ids should not be null";
+        assert tasks.size() == ids.length : "Every task should have an id";
+        StringBuilder output = new StringBuilder("Here are the tasks in your list:\n\n");
+        if (tasks.isEmpty()) {
+            output.append("Hmmm, didn't find any tasks. Add some tasks!");
+        }
         for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
+            output.append(i + 1).append(".").append(tasks.get(i)).append(" (id ").append(ids[i]).append(")\n");
+        }
+        return output.toString();
+    }
+
+    /**
+     * Displays the tasks occurring on a specific date or in a range of dates.
+     *
+     * @param tasks     The list of all tasks.
+     * @param positions The zero-based indexes of the tasks to display, in list order.
+     * @param from      The first date of the range.
+     * @param to        The last date of the range, which is the same as the first for a single date.
+     */
+    public String showTasksByDate(List<Task> tasks, int[] positions, LocalDate from, LocalDate to) {
+        assert tasks != null : "Task list should not be null";
+        assert positions != null : "Positions should not be null";
+        assert from != null && to != null : "Dates should not be null";
+        String range = from.equals(to)
+                ? "on " + DateTimeCodec.formatForDisplay(from)
+                : "from " + DateTimeCodec.formatForDisplay(from) + " to " + DateTimeCodec.formatForDisplay(to);
+        StringBuilder output = new StringBuilder("Here are the tasks occurring " + range + ":\n");
+        for (int position : positions) {
+            Task task = tasks.get(position);
             assert task != null : "Task in the list should not be null";
-            if (task instanceof Deadline) {
-                Deadline deadline = (Deadline) task;
-                LocalDateTime time = deadline.getBy();
-                if (time.toLocalDate().equals(date)) {
-                    output.append((i + 1)).append(".").append(deadline).append("\n");
-                    found = true;
-                }
-            } else if (task instanceof Event) {
-                Event event = (Event) task;
-                LocalDateTime from = event.getFrom();
-                LocalDateTime to = event.getTo();
-                if (from.toLocalDate().equals(date) || to.toLocalDate().equals(date)) {
-                    output.append((i + 1)).append(".").append(event).append("\n");
-                    found = true;
-                }
-            }
+            output.append(position + 1).append(".").append(task).append("\n");
         }
-        if (!found) {
-            output.append("No tasks found for this date.");
+        if (positions.length == 0) {
+            output.append(from.equals(to) ? "No tasks found for this date." : "No tasks found for these dates.");
         }
         String result = output.toString();
         assert !result.isEmpty() : "Tasks by date output should not be null or empty";
         return result;
     }
 
+    /**
+     * Displays every pair of events whose time spans overlap.
+     *
+     * @param tasks   The list of all tasks.
+     * @param clashes The pairs of zero-based indexes of clashing events.
+     */
+    public String showClashes(List<Task> tasks, List<int[]> clashes) {
+        assert tasks != null : "Task list should not be null";
+        assert clashes != null : "Clashes should not be null";
+        if (clashes.isEmpty()) {
+            return "No clashing events found!";
+        }
+        StringBuilder output = new StringBuilder("Here are the clashing events:\n");
+        for (int[] clash : clashes) {
+            output.append(clash[0] + 1).append(".").append(tasks.get(clash[0])).append("\n")
+                    .append("   clashes with ").append(clash[1] + 1).append(".").append(tasks.get(clash[1]))
+                    .append("\n");
+        }
+        return output.toString();
+    }
+
+    /**
+     * Displays the events whose time spans overlap the given span.
+     *
+     * @param tasks     The list of all tasks.
+     * @param positions The zero-based indexes of the events to display, in list order.
+     * @param from      The start of the span.
+     * @param to        The end of the span.
+     */
+    public String showEventsBetween(List<Task> tasks, int[] positions, LocalDateTime from, LocalDateTime to) {
+        assert tasks != null : "Task list should not be null";
+        assert positions != null : "Positions should not be null";
+        if (positions.length == 0) {
+            return "No events found between " + DateTimeCodec.formatForDisplay(from)
+                    + " and " + DateTimeCodec.formatForDisplay(to) + ".";
+        }
+        StringBuilder output = new StringBuilder("Here are the events between " + DateTimeCodec.formatForDisplay(from)
+                + " and " + DateTimeCodec.formatForDisplay(to) + ":\n");
+        appendTasks(output, tasks, positions);
+        return output.toString();
+    }
+
+    /**
+     * Displays the tasks matching a done status or priority filter.
+     *
+     * @param tasks     The list of all tasks.
+     * @param positions The zero-based indexes of the matching tasks, in list order.
+     * @param filter    The filter, as typed by the user.
+     */
+    public String showFilteredTasks(List<Task> tasks, int[] positions, String filter) {
+        assert tasks != null : "Task list should not be null";
+        assert positions != null : "Positions should not be null";
+        if (positions.length == 0) {
+            return "No tasks match: " + filter;
+        }
+        StringBuilder output = new StringBuilder("Here are the tasks matching " + filter + ":\n");
+        appendTasks(output, tasks, positions);
+        return output.toString();
+    }
+
+    /**
+     * Displays the tasks whose tags match a tag query.
+     *
+     * @param tasks     The list of all tasks.
+     * @param positions The zero-based indexes of the matching tasks, in list order.
+     * @param query     The tag query, as typed by the user.
+     */
+    public String showTasksWithTags(List<Task> tasks, int[] positions, String query) {
+        assert tasks != null : "Task list should not be null";
+        assert positions != null : "Positions should not be null";
+        if (positions.length == 0) {
+            return "No tasks have tags matching: " + query;
+        }
+        StringBuilder output = new StringBuilder("Here are the tasks with tags matching " + query + ":\n");
+        appendTasks(output, tasks, positions);
+        return output.toString();
+    }
+
+    /**
+     * Displays a warning that a newly added event overlaps existing events.
+     *
+     * @param tasks     The list of all tasks.
+     * @param positions The zero-based indexes of the overlapping events, in list order.
+     */
+    public String showClashWarning(List<Task> tasks, int[] positions) {
+        assert tasks != null : "Task list should not be null";
+        assert positions != null && positions.length > 0 : "Warning should list at least one event";
+        StringBuilder output = new StringBuilder("Heads up! This event clashes with:\n");
+        appendTasks(output, tasks, positions);
+        return output.toString();
+    }
+
+    private static void appendTasks(StringBuilder output, List<Task> tasks, int[] positions) {
+        for (int position : positions) {
+            output.append(position + 1).append(".").append(tasks.get(position)).append("\n");
+        }
+    }
+
     /**
      * Displays a message when a tag is added to a task.
      *
@@ -0,0 +1,234 @@
+package einstein.util;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses and formats every date and time used in the Einstein task management system.
+ * Formatters are compiled once and shared, as they are immutable and thread-safe.
+ * The {@code d/M/yyyy HHmm} pattern used for input and storage also has a hand-rolled parser and printer
+ * for its common shape, falling back to the formatter for anything else so that results never differ.
+ */
+public final class DateTimeCodec {
+    /** The pattern of dates and times typed by the user and stored in task files. */
+    public static final String STORAGE_PATTERN = "d/M/yyyy HHmm";
+
+    private static final DateTimeFormatter STORAGE_FORMATTER = DateTimeFormatter.ofPattern(STORAGE_PATTERN);
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
+    private static final DateTimeFormatter DISPLAY_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter INPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * Parses a date and time in the {@code d/M/yyyy HHmm} pattern.
+     *
+     * @param text The text to parse.
+     * @return The parsed date and time.
+     * @throws java.time.format.DateTimeParseException If the text is not a valid date and time in the pattern.
+     */
+    public static LocalDateTime parseDateTime(CharSequence text) {
+        assert text != null : "Date/time text cannot be null";
+        int end = text.length();
+        int daySlash = indexOf(text, '/', 0, end);
+        int monthSlash = indexOf(text, '/', daySlash + 1, end);
+        int space = indexOf(text, ' ', monthSlash + 1, end);
+        LocalDateTime dateTime = end - space != 5 ? null : toDateTime(
+                parseNumber(text, 0, daySlash, 1, 2),
+                parseNumber(text, daySlash + 1, monthSlash, 1, 2),
+                parseNumber(text, monthSlash + 1, space, 4, 4),
+                parseNumber(text, space + 1, space + 3, 2, 2),
+                parseNumber(text, space + 3, end, 2, 2));
+        return dateTime != null ? dateTime : LocalDateTime.parse(text, STORAGE_FORMATTER);
+    }
+
+    /**
+     * Parses a date and time in the {@code d/M/yyyy HHmm} pattern straight from the bytes of a buffer.
+     * Only the common shape is recognised, so the caller must fall back to {@link #parseDateTime(CharSequence)}
+     * when this returns null.
+     *
+     * @param buffer The buffer holding the text.
+     * @param start  The offset of the first byte.
+     * @param end    The offset just past the last byte.
+     * @return The parsed date and time, or null if the bytes are not in the common shape of the pattern.
+     */
+    public static LocalDateTime parseDateTime(ByteBuffer buffer, int start, int end) {
+        int daySlash = indexOf(buffer, (byte) '/', start, end);
+        int monthSlash = indexOf(buffer, (byte) '/', daySlash + 1, end);
+        int space = indexOf(buffer, (byte) ' ', monthSlash + 1, end);
+        if (end - space != 5) {
+            return null;
+        }
+        return toDateTime(
+                parseNumber(buffer, start, daySlash, 1, 2),
+                parseNumber(buffer, daySlash + 1, monthSlash, 1, 2),
+                parseNumber(buffer, monthSlash + 1, space, 4, 4),
+                parseNumber(buffer, space + 1, space + 3, 2, 2),
+                parseNumber(buffer, space + 3, end, 2, 2));
+    }
+
+    private static int indexOf(CharSequence text, char value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == value) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int parseNumber(CharSequence text, int start, int end, int minDigits, int maxDigits) {
+        int length = end - start;
+        if (length < minDigits || length > maxDigits) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int parseNumber(ByteBuffer buffer, int start, int end, int minDigits, int maxDigits) {
+        int length = end - start;
+        if (length < minDigits || length > maxDigits) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Builds the date and time from parsed fields, leaving out-of-range values to the formatter's resolver.
+     *
+     * @return The date and time, or null if a field is missing or out of range.
+     */
+    private static LocalDateTime toDateTime(int day, int month, int year, int hour, int minute) {
+        if (day < 0 || month < 0 || year < 1 || hour < 0 || minute < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats a date and time in the {@code d/M/yyyy HHmm} pattern.
+     *
+     * @param dateTime The date and time to format.
+     * @return The formatted date and time.
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        return appendDateTime(new StringBuilder(16), dateTime).toString();
+    }
+
+    /**
+     * Appends a date and time in the {@code d/M/yyyy HHmm} pattern to the given builder.
+     *
+     * @param builder  The builder to append to.
+     * @param dateTime The date and time to format.
+     * @return The given builder.
+     */
+    public static StringBuilder appendDateTime(StringBuilder builder, LocalDateTime dateTime) {
+        assert dateTime != null : "Date/time cannot be null";
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            STORAGE_FORMATTER.formatTo(dateTime, builder);
+            return builder;
+        }
+        builder.append(dateTime.getDayOfMonth()).append('/').append(dateTime.getMonthValue()).append('/');
+        appendPadded(builder, year, 4);
+        builder.append(' ');
+        appendPadded(builder, dateTime.getHour(), 2);
+        appendPadded(builder, dateTime.getMinute(), 2);
+        return builder;
+    }
+
+    private static void appendPadded(StringBuilder builder, int value, int width) {
+        int limit = 10;
+        for (int i = 1; i < width; i++) {
+            if (value < limit) {
+                builder.append('0');
+            }
+            limit *= 10;
+        }
+        builder.append(value);
+    }
+
+    /**
+     * Formats a date and time for display, such as {@code Dec 02 2019, 6:00 PM}.
+     *
+     * @param dateTime The date and time to format.
+     * @return The formatted date and time.
+     */
+    public static String formatForDisplay(LocalDateTime dateTime) {
+        return DISPLAY_FORMATTER.format(dateTime);
+    }
+
+    /**
+     * Formats a date for display, such as {@code Dec 02 2019}.
+     *
+     * @param date The date to format.
+     * @return The formatted date.
+     */
+    public static String formatForDisplay(LocalDate date) {
+        return DISPLAY_DATE_FORMATTER.format(date);
+    }
+
+    /**
+     * Parses a date in the {@code yyyy-MM-dd} pattern.
+     *
+     * @param text The text to parse.
+     * @return The parsed date.
+     * @throws java.time.format.DateTimeParseException If the text is not a valid date in the pattern.
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        return LocalDate.parse(text, INPUT_DATE_FORMATTER);
+    }
+
+    /**
+     * Converts a date and time to whole minutes since the epoch, which is the precision of every stored time.
+     *
+     * @param dateTime The date and time to convert.
+     * @return The number of minutes since 1970-01-01 00:00.
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts whole minutes since the epoch back to a date and time.
+     *
+     * @param epochMinute The number of minutes since 1970-01-01 00:00.
+     * @return The date and time.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
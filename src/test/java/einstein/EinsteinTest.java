@@ -0,0 +1,86 @@
+package einstein;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import einstein.exception.EinsteinException;
+import einstein.storage.Storage;
+import einstein.task.Task;
+import einstein.task.Todo;
+
+/**
+ * Test class for the Einstein class.
+ * This class contains unit tests to verify that commands are run in batch mode and that unreadable
+ * saved tasks are kept.
+ */
+class EinsteinTest {
+
+    /**
+     * Tests that batch mode runs every command up to {@code bye}, reports errors without stopping,
+     * and leaves all changes saved once it returns.
+     *
+     * @throws EinsteinException if the changes cannot be saved or loaded
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void runBatch_script_commandsRunAndChangesSaved() throws EinsteinException, IOException {
+        String testFilePath = "data/test_batch_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+        Einstein einstein = new Einstein(testFilePath, Long.MAX_VALUE);
+        String script = "todo read book\n\ntodo return book\nmark 9\nmark 2\nlist\nbye\ntodo never run\n";
+        StringWriter output = new StringWriter();
+
+        einstein.runBatch(new BufferedReader(new StringReader(script)), output);
+
+        assertTrue(output.toString().contains("Invalid task number!"));
+        assertTrue(output.toString().contains("2.[T][X] return book"));
+        assertTrue(output.toString().trim().endsWith("Bye, hope to see you again soon!"));
+        ArrayList<Task> loadedTasks = new Storage(testFilePath, true).load();
+        assertEquals(2, loadedTasks.size());
+        assertTrue(loadedTasks.get(1).getIsDone());
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+    }
+
+    /**
+     * Tests that saved tasks which cannot be loaded are moved aside untouched,
+     * and that changes made afterwards are saved to a new list instead of over them.
+     *
+     * @throws EinsteinException if the changes cannot be saved or loaded
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void constructor_unreadableFile_fileMovedAsideAndNewListStarted() throws EinsteinException, IOException {
+        String testFilePath = "data/test_unreadable_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        new Storage(testFilePath).save(tasks);
+        byte[] data = Files.readAllBytes(Paths.get(testFilePath));
+        data[8] = 'X';
+        Files.write(Paths.get(testFilePath), data);
+
+        Einstein einstein = new Einstein(testFilePath, Long.MAX_VALUE);
+        einstein.runBatch(new BufferedReader(new StringReader("todo return book\nbye\n")), new StringWriter());
+
+        assertArrayEquals(data, Files.readAllBytes(Paths.get(testFilePath + ".corrupt")));
+        ArrayList<Task> loadedTasks = new Storage(testFilePath, true).load();
+        assertEquals(1, loadedTasks.size());
+        assertEquals("return book", loadedTasks.get(0).getDescription());
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+        Files.deleteIfExists(Paths.get(testFilePath + ".corrupt"));
+    }
+}
@@ -1,13 +1,18 @@
 package einstein.parser;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
 import einstein.command.AddDeadlineCommand;
+import einstein.command.AddMultipleTodosCommand;
 import einstein.command.AddTodoCommand;
+import einstein.command.ClashesCommand;
 import einstein.command.Command;
+import einstein.command.HelpCommand;
+import einstein.command.ListCommand;
 import einstein.exception.EinsteinException;
 
 /**
@@ -45,4 +50,53 @@ class ParserTest {
     void parse_invalidCommand_throwsEinsteinException() {
         assertThrows(EinsteinException.class, () -> Parser.parse("invalid command"));
     }
+
+    /**
+     * Tests that to-do descriptions separated by commas are parsed into a single command adding all of them.
+     *
+     * @throws EinsteinException if there's an error parsing the command
+     */
+    @Test
+    void parse_commaSeparatedTodos_returnsAddMultipleTodosCommand() throws EinsteinException {
+        Command command = Parser.parse("todo Read book, Write essay");
+        assertTrue(command instanceof AddMultipleTodosCommand);
+    }
+
+    /**
+     * Tests that single-word commands ignore case, while keywords of commands with arguments do not.
+     *
+     * @throws EinsteinException if there's an error parsing the command
+     */
+    @Test
+    void parse_keywordCase_matchedOnlyForSingleWordCommands() throws EinsteinException {
+        assertTrue(Parser.parse("LIST") instanceof ListCommand);
+        assertThrows(EinsteinException.class, () -> Parser.parse("MARK 1"));
+        assertThrows(EinsteinException.class, () -> Parser.parse("list-all"));
+    }
+
+    /**
+     * Tests that a registered command is created by its factory when its keyword is parsed.
+     *
+     * @throws EinsteinException if there's an error parsing the command
+     */
+    @Test
+    void parse_registeredCommand_returnsCommandFromFactory() throws EinsteinException {
+        Command help = new HelpCommand();
+        Parser.register("explain", fullCommand -> help);
+        assertSame(help, Parser.parse("explain mark"));
+        assertThrows(EinsteinException.class, () -> Parser.parse("explain"));
+    }
+
+    /**
+     * Tests that clashes is accepted on its own in any case and with a time span,
+     * but not with any other argument.
+     *
+     * @throws EinsteinException if a valid clashes command cannot be parsed
+     */
+    @Test
+    void parse_clashesCommand_onlyTimeSpanArgumentAccepted() throws EinsteinException {
+        assertTrue(Parser.parse("CLASHES") instanceof ClashesCommand);
+        assertTrue(Parser.parse("clashes /from 2/12/2099 1400 /to 2/12/2099 1600") instanceof ClashesCommand);
+        assertThrows(EinsteinException.class, () -> Parser.parse("clashes foo"));
+    }
 }
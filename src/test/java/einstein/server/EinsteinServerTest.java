@@ -0,0 +1,112 @@
+package einstein.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import einstein.storage.Storage;
+import einstein.storage.TaskList;
+import einstein.ui.Ui;
+
+/**
+ * Test class for the EinsteinServer class.
+ * This class contains unit tests to verify that sessions share one task list over the line protocol.
+ */
+class EinsteinServerTest {
+
+    /**
+     * Tests that many sessions adding tasks at the same time all succeed, that every session sees the tasks
+     * added by the others, and that {@code bye} only ends the session.
+     *
+     * @throws Exception if a session fails
+     */
+    @Test
+    void serve_concurrentSessions_sharedTaskListUpdated() throws Exception {
+        String testFilePath = "data/test_server_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+        TaskList tasks = new TaskList();
+        EinsteinServer server = new EinsteinServer(tasks, new Ui(), new Storage(testFilePath));
+        int port = server.start(0);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> sessions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int session = i;
+                sessions.add(clients.submit(() -> {
+                    try (Client client = new Client(port)) {
+                        for (int j = 0; j < 10; j++) {
+                            assertTrue(client.send("todo task " + session + "-" + j).startsWith("Got it."));
+                            client.send("list");
+                        }
+                        assertEquals("Bye, hope to see you again soon!", client.send("bye"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+            try (Client client = new Client(port)) {
+                String response = client.send("list");
+                assertTrue(response.contains("task 0-0"));
+                assertTrue(response.contains("80.[T][ ] task "));
+            }
+        } finally {
+            clients.shutdown();
+            server.stop();
+        }
+        assertEquals(80, tasks.getTaskCount());
+        assertEquals(80, new Storage(testFilePath).load().size());
+        Files.deleteIfExists(Paths.get(testFilePath));
+    }
+
+    /**
+     * Connects to the server and reads responses up to their closing line.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        private Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            read();
+        }
+
+        private String send(String command) throws IOException {
+            out.println(command);
+            return read();
+        }
+
+        private String read() throws IOException {
+            StringBuilder response = new StringBuilder();
+            for (String line = in.readLine(); !line.equals("."); line = in.readLine()) {
+                response.append(line.startsWith(".") ? line.substring(1) : line).append("\n");
+            }
+            return response.toString().trim();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
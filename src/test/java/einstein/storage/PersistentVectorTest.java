@@ -0,0 +1,62 @@
+package einstein.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the PersistentVector class.
+ * This class contains unit tests to verify that new versions are built correctly and old versions stay unchanged.
+ */
+class PersistentVectorTest {
+
+    /**
+     * Tests that appending and replacing elements across several tree levels gives the same elements as an
+     * ArrayList, while every earlier version keeps its own elements.
+     */
+    @Test
+    void plusAndWith_manyElements_earlierVersionsUnchanged() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> halfway = null;
+        for (int i = 0; i < 40_000; i++) {
+            vector = vector.plus(i);
+            expected.add(i);
+            if (i == 19_999) {
+                halfway = vector;
+            }
+        }
+        for (int i = 0; i < expected.size(); i += 997) {
+            vector = vector.with(i, -i);
+            expected.set(i, -i);
+        }
+        assertEquals(expected, vector);
+        assertEquals(20_000, halfway.size());
+        assertEquals(expected.subList(1, 997), halfway.subList(1, 997));
+        assertEquals(997, (int) halfway.get(997));
+        assertEquals(19_999, (int) halfway.get(19_999));
+    }
+
+    /**
+     * Tests that a vector built from a list holds the same elements as one built by appending,
+     * including sizes just around the node width, and can be appended to afterwards.
+     */
+    @Test
+    void copyOf_variousSizes_sameAsAppending() {
+        for (int size : new int[] {0, 1, 31, 32, 33, 1024, 1056, 1057, 40_000}) {
+            List<Integer> elements = new ArrayList<>();
+            PersistentVector<Integer> appended = PersistentVector.empty();
+            for (int i = 0; i < size; i++) {
+                elements.add(i);
+                appended = appended.plus(i);
+            }
+            PersistentVector<Integer> copied = PersistentVector.copyOf(elements);
+            assertEquals(appended, copied);
+            elements.add(size);
+            assertEquals(elements, copied.plus(size));
+        }
+    }
+}
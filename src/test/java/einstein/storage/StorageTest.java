@@ -1,15 +1,25 @@
 package einstein.storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import einstein.exception.EinsteinException;
+import einstein.task.Deadline;
+import einstein.task.Event;
+import einstein.task.Priority;
 import einstein.task.Task;
 import einstein.task.Todo;
 
@@ -54,4 +64,347 @@ class StorageTest {
         // Clean up the temporary file
         Files.deleteIfExists(Paths.get(testFilePath));
     }
+
+    /**
+     * Tests that changes appended in journaled mode are replayed on top of the saved file when loading.
+     *
+     * @throws EinsteinException if there's an error in saving or loading tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void saveChanges_journaledMode_changesReplayedOnLoad() throws EinsteinException, IOException {
+        String testFilePath = "data/test_journal_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        Storage storage = new Storage(testFilePath, true);
+        storage.save(tasks);
+
+        Task added = new Todo("Write code");
+        tasks.add(added);
+        storage.saveChanges(tasks, JournalEntry.add(1, added));
+        tasks.get(0).markAsDone();
+        storage.saveChanges(tasks, JournalEntry.mark(0));
+        tasks.remove(1);
+        storage.saveChanges(tasks, JournalEntry.delete(1));
+
+        ArrayList<Task> loadedTasks = new Storage(testFilePath, true).load();
+
+        assertEquals(tasks.size(), loadedTasks.size());
+        assertEquals(tasks.get(0).toString(), loadedTasks.get(0).toString());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+    }
+
+    /**
+     * Tests that compaction folds the journal into the task file and removes the journal,
+     * keeping the done status, tags and priority the journal recorded.
+     *
+     * @throws Exception if there's an error in saving, compacting or loading tasks
+     */
+    @Test
+    void compact_journaledMode_journalFoldedIntoFile() throws Exception {
+        String testFilePath = "data/test_compact_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        Storage storage = new Storage(testFilePath, true);
+        storage.save(tasks);
+        Task added = new Todo("Write code");
+        tasks.add(added);
+        storage.saveChanges(tasks, JournalEntry.add(1, added));
+        added.addTag("work");
+        added.addTag("urgent");
+        added.removeTag("urgent");
+        added.setPriority(Priority.LOW);
+        tasks.get(0).markAsDone();
+        storage.saveChanges(tasks, JournalEntry.tag(1, "work"), JournalEntry.tag(1, "urgent"),
+                JournalEntry.untag(1, "urgent"), JournalEntry.priority(1, Priority.LOW), JournalEntry.mark(0));
+
+        storage.getCompactor().compact();
+
+        assertFalse(Files.exists(Paths.get(testFilePath + ".log")));
+        ArrayList<Task> loadedTasks = new Storage(testFilePath).load();
+        assertEquals(tasks.size(), loadedTasks.size());
+        assertEquals(tasks.get(1).toString(), loadedTasks.get(1).toString());
+        assertTrue(loadedTasks.get(0).getIsDone());
+        assertEquals(List.of("work"), loadedTasks.get(1).getTags());
+        assertEquals(Priority.LOW, loadedTasks.get(1).getPriority());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+    }
+
+    /**
+     * Tests that a file ending in .bin is saved and loaded in the binary format,
+     * keeping dates, done status, priorities and tags.
+     *
+     * @throws EinsteinException if there's an error in saving or loading tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void saveAndLoadTasks_binaryFile_tasksSavedAndLoadedSuccessfully() throws EinsteinException, IOException {
+        String testFilePath = "data/test_tasks.bin";
+        Files.deleteIfExists(Paths.get(testFilePath));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        tasks.add(new Deadline("Return book", LocalDateTime.of(2099, 12, 2, 18, 0)));
+        tasks.add(new Event("Project meeting", LocalDateTime.of(2099, 12, 2, 14, 0),
+                LocalDateTime.of(2099, 12, 2, 16, 0)));
+        tasks.get(0).markAsDone();
+        tasks.get(1).setPriority(Priority.HIGH);
+        tasks.get(1).addTag("library");
+        tasks.get(2).addTag("library");
+
+        Storage storage = new Storage(testFilePath);
+        storage.save(tasks);
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(tasks.size(), loadedTasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loadedTasks.get(i).toString());
+        }
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+    }
+
+    /**
+     * Tests that a text file with dated tasks and Windows line endings is loaded correctly.
+     *
+     * @throws EinsteinException if there's an error in loading tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void load_textFileWithDates_tasksLoadedSuccessfully() throws EinsteinException, IOException {
+        String testFilePath = "data/test_dated_tasks.txt";
+        Files.createDirectories(Paths.get("data"));
+        String data = "T | 1 | Read book\r\n"
+                + "D | 0 | Return book | 2/12/2099 1800\r\n"
+                + "E | 0 | Project meeting | 2/12/2099 1400 | 2/12/2099 1600\r\n";
+        Files.write(Paths.get(testFilePath), data.getBytes(StandardCharsets.UTF_8));
+
+        ArrayList<Task> loadedTasks = new Storage(testFilePath).load();
+
+        assertEquals(3, loadedTasks.size());
+        assertEquals("[T][X] Read book", loadedTasks.get(0).toString());
+        assertEquals("[D][ ] Return book (by: Dec 02 2099, 6:00 PM)", loadedTasks.get(1).toString());
+        assertEquals("[E][ ] Project meeting (from: Dec 02 2099, 2:00 PM to: Dec 02 2099, 4:00 PM)",
+                loadedTasks.get(2).toString());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+    }
+
+    /**
+     * Tests that a tag compacted into a text file is kept there, so removing it afterwards is replayed
+     * on the next load instead of failing it, and that priorities survive compaction too.
+     *
+     * @throws Exception if there's an error in saving, loading or compacting tasks
+     */
+    @Test
+    void compact_taggedThenUntaggedTextFile_tagRemovedOnReload() throws Exception {
+        String testFilePath = "data/test_compact_tags_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        Storage storage = new Storage(testFilePath, true);
+        storage.save(tasks);
+        tasks.get(0).addTag("home");
+        tasks.get(0).addTag("weekend reading");
+        tasks.get(0).setPriority(Priority.HIGH);
+        storage.saveChanges(tasks, JournalEntry.tag(0, "home"), JournalEntry.tag(0, "weekend reading"),
+                JournalEntry.priority(0, Priority.HIGH));
+        storage.getCompactor().compact();
+        tasks.get(0).removeTag("home");
+        storage.saveChanges(tasks, JournalEntry.untag(0, "home"));
+
+        ArrayList<Task> loadedTasks = new Storage(testFilePath, true).load();
+        assertEquals(List.of("weekend reading"), loadedTasks.get(0).getTags());
+        assertEquals(Priority.HIGH, loadedTasks.get(0).getPriority());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+    }
+
+    /**
+     * Tests that a corrupted line is skipped and reported with its line number instead of failing the load,
+     * and that the original file is kept so the line can still be recovered after the file is rewritten.
+     *
+     * @throws EinsteinException if there's an error in loading or saving tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void load_corruptedLine_lineSkippedAndReported() throws EinsteinException, IOException {
+        String testFilePath = "data/test_corrupted_tasks.txt";
+        Files.createDirectories(Paths.get("data"));
+        String data = "T | 0 | Read book\nQ | 0 | Unknown\nT | 0 | Write code\n";
+        Files.write(Paths.get(testFilePath), data.getBytes(StandardCharsets.UTF_8));
+
+        Storage storage = new Storage(testFilePath);
+        ArrayList<Task> loadedTasks = storage.load();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals(1, storage.getLoadErrors().size());
+        assertEquals(2, storage.getLoadErrors().get(0).getLineNumber());
+        storage.save(loadedTasks);
+        assertArrayEquals(data.getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(Paths.get(storage.getCorruptedCopyPath())));
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(storage.getCorruptedCopyPath()));
+    }
+
+    /**
+     * Tests that journaled changes made after a lenient load are replayed against the same tasks on the next load,
+     * and that the journal can still be compacted into the file.
+     *
+     * @throws Exception if there's an error in saving, loading or compacting tasks
+     */
+    @Test
+    void load_corruptedLineThenJournaledChange_changeReplayedOnSameTask() throws Exception {
+        String testFilePath = "data/test_corrupted_journaled_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+        Files.createDirectories(Paths.get("data"));
+        String data = "T | 0 | Read book\nQ | 0 | Unknown\nT | 0 | Write code\n";
+        Files.write(Paths.get(testFilePath), data.getBytes(StandardCharsets.UTF_8));
+
+        Storage storage = new Storage(testFilePath, true);
+        ArrayList<Task> tasks = storage.load();
+        assertEquals(1, storage.getLoadErrors().size());
+        assertArrayEquals(data.getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(Paths.get(storage.getCorruptedCopyPath())));
+        tasks.remove(0);
+        storage.saveChanges(tasks, JournalEntry.delete(0));
+
+        Storage reloaded = new Storage(testFilePath, true);
+        ArrayList<Task> loadedTasks = reloaded.load();
+        assertEquals(1, loadedTasks.size());
+        assertEquals("Write code", loadedTasks.get(0).getDescription());
+        assertTrue(reloaded.getLoadErrors().isEmpty());
+        reloaded.getCompactor().compact();
+        assertEquals(1, new Storage(testFilePath, true).load().size());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+        Files.deleteIfExists(Paths.get(storage.getCorruptedCopyPath()));
+    }
+
+    /**
+     * Tests that changes queued in write-behind mode are all on disk after a flush.
+     *
+     * @throws EinsteinException if there's an error in saving or loading tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void flush_writeBehindMode_queuedChangesWritten() throws EinsteinException, IOException {
+        String testFilePath = "data/test_write_behind_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+
+        Storage storage = new Storage(testFilePath, true);
+        storage.enableWriteBehind(60_000);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Task task = new Todo("Task " + i);
+            tasks.add(task);
+            storage.saveChanges(tasks, JournalEntry.add(i, task));
+        }
+        storage.flush();
+
+        ArrayList<Task> loadedTasks = new Storage(testFilePath, true).load();
+        assertEquals(tasks.size(), loadedTasks.size());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+        Files.deleteIfExists(Paths.get(testFilePath + ".log"));
+    }
+
+    /**
+     * Tests that a change the writer thread fails to write with an unexpected exception is reported by flush
+     * instead of being counted as saved.
+     *
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void flush_writeBehindWriteFailsUnexpectedly_exceptionThrown() throws IOException {
+        String testFilePath = "data/test_write_behind_failure_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+
+        Storage storage = new Storage(testFilePath);
+        storage.enableWriteBehind(60_000);
+        ArrayList<Task> tasks = new ArrayList<>();
+        Task task = new Todo("Read book");
+        tasks.add(task);
+        // A missing task cannot be encoded, so the writer thread fails with a NullPointerException
+        tasks.add(null);
+
+        assertThrows(EinsteinException.class, () -> {
+            storage.saveChanges(tasks, JournalEntry.add(0, task));
+            storage.flush();
+        });
+        assertFalse(Files.exists(Paths.get(testFilePath)));
+    }
+
+    /**
+     * Tests that a saved task file whose contents no longer match its checksum is rejected on load,
+     * and that saving leaves no temporary file behind.
+     *
+     * @throws EinsteinException if there's an error in saving tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void load_checksumMismatch_exceptionThrown() throws EinsteinException, IOException {
+        String testFilePath = "data/test_checksum_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        Storage storage = new Storage(testFilePath, false, DurabilityPolicy.ALWAYS);
+        storage.save(tasks);
+        assertFalse(Files.exists(Paths.get(testFilePath + ".tmp")));
+        assertEquals(1, storage.load().size());
+
+        byte[] data = Files.readAllBytes(Paths.get(testFilePath));
+        data[8] = 'X';
+        Files.write(Paths.get(testFilePath), data);
+
+        assertThrows(EinsteinException.class, storage::load);
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+    }
+
+    /**
+     * Tests that saving again after changing and removing tasks writes the changes,
+     * even though unchanged tasks are written from the cached encoding.
+     *
+     * @throws EinsteinException if there's an error in saving or loading tasks
+     * @throws IOException if there's an error in file operations
+     */
+    @Test
+    void save_tasksChangedSinceLastSave_changesSaved() throws EinsteinException, IOException {
+        String testFilePath = "data/test_incremental_tasks.txt";
+        Files.deleteIfExists(Paths.get(testFilePath));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read book"));
+        tasks.add(new Todo("Write code"));
+        tasks.add(new Todo("Go running"));
+        Storage storage = new Storage(testFilePath);
+        storage.save(tasks);
+        tasks.get(1).markAsDone();
+        tasks.remove(2);
+        storage.save(tasks);
+
+        ArrayList<Task> loadedTasks = storage.load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals("[T][ ] Read book", loadedTasks.get(0).toString());
+        assertEquals("[T][X] Write code", loadedTasks.get(1).toString());
+
+        Files.deleteIfExists(Paths.get(testFilePath));
+    }
 }
@@ -1,11 +1,25 @@
 package einstein.storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
 import einstein.exception.EinsteinException;
+import einstein.task.Deadline;
+import einstein.task.Event;
+import einstein.task.Priority;
 import einstein.task.Task;
 import einstein.task.Todo;
 
@@ -53,4 +67,323 @@ class TaskListTest {
         taskList.addTask(task);
         assertThrows(EinsteinException.class, () -> taskList.deleteTask(1));
     }
+
+    /**
+     * Tests that finding tasks returns, in list order, only the tasks containing every word of the query,
+     * ignoring case, and no longer returns deleted tasks.
+     *
+     * @throws EinsteinException if there's an error deleting the task
+     */
+    @Test
+    void findTasks_multipleWords_tasksWithAllWordsReturned() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("Read book"));
+        taskList.addTask(new Todo("Return library book"));
+        taskList.addTask(new Todo("read the BOOK again"));
+        taskList.addTask(new Todo("Read news"));
+
+        ArrayList<Task> matches = taskList.findTasks("book read");
+        assertEquals(2, matches.size());
+        assertEquals("Read book", matches.get(0).getDescription());
+        assertEquals("read the BOOK again", matches.get(1).getDescription());
+
+        taskList.deleteTask(0);
+        assertEquals(1, taskList.findTasks("book read").size());
+        assertEquals(0, taskList.findTasks("books").size());
+    }
+
+    /**
+     * Tests that finding tasks matches substrings of any length, including ones spanning words, ignoring case.
+     */
+    @Test
+    void findTasks_substrings_tasksContainingSubstringsReturned() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("Read Notebook"));
+        taskList.addTask(new Todo("Return library book"));
+        taskList.addTask(new Todo("Buy pens"));
+
+        assertEquals(2, taskList.findTasks("BOO").size());
+        assertEquals(1, taskList.findTasks("d note").size());
+        assertEquals(1, taskList.findTasks("pE").size());
+        assertEquals(1, taskList.findTasks("ok ib").size());
+        assertEquals(0, taskList.findTasks("bookshelf").size());
+    }
+
+    /**
+     * Tests that a fuzzy search finds tasks with words close to mistyped query words, closest first.
+     */
+    @Test
+    void findSimilarTasks_mistypedWord_closestTasksFirst() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("Bread shopping"));
+        taskList.addTask(new Todo("Read book"));
+        taskList.addTask(new Todo("Write essay"));
+
+        ArrayList<Task> matches = taskList.findSimilarTasks("reaad");
+        assertEquals(2, matches.size());
+        assertEquals("Read book", matches.get(0).getDescription());
+        assertEquals("Bread shopping", matches.get(1).getDescription());
+        assertEquals(0, taskList.findSimilarTasks("reaad esay").size());
+        assertEquals(1, taskList.findSimilarTasks("wrte esay").size());
+    }
+
+    /**
+     * Tests that a date range matches deadlines due and events starting or ending within it,
+     * returning their positions in list order.
+     */
+    @Test
+    void findTasksBetween_dateRange_tasksOnThoseDatesReturned() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("submit report", LocalDateTime.of(2099, 3, 10, 18, 0)));
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Event("conference", LocalDateTime.of(2099, 3, 1, 9, 0),
+                LocalDateTime.of(2099, 3, 12, 17, 0)));
+        taskList.addTask(new Deadline("pay rent", LocalDateTime.of(2099, 4, 1, 12, 0)));
+
+        assertArrayEquals(new int[] {0, 2}, taskList.findTasksBetween(LocalDate.of(2099, 3, 5),
+                LocalDate.of(2099, 3, 31)).getMatches());
+        assertArrayEquals(new int[] {3}, taskList.findTasksBetween(LocalDate.of(2099, 4, 1),
+                LocalDate.of(2099, 4, 1)).getMatches());
+        assertArrayEquals(new int[0], taskList.findTasksBetween(LocalDate.of(2099, 3, 5),
+                LocalDate.of(2099, 3, 9)).getMatches());
+    }
+
+    /**
+     * Tests that events overlapping each other are reported as clashes, while touching events are not,
+     * and that deleted events no longer clash.
+     *
+     * @throws EinsteinException if a task cannot be deleted
+     */
+    @Test
+    void findClashes_overlappingEvents_clashingPairsReturned() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Event("meeting", LocalDateTime.of(2099, 3, 1, 9, 0),
+                LocalDateTime.of(2099, 3, 1, 11, 0)));
+        taskList.addTask(new Event("lunch", LocalDateTime.of(2099, 3, 1, 11, 0),
+                LocalDateTime.of(2099, 3, 1, 12, 0)));
+        taskList.addTask(new Todo("read book"));
+        taskList.addTask(new Event("workshop", LocalDateTime.of(2099, 3, 1, 10, 0),
+                LocalDateTime.of(2099, 3, 1, 13, 0)));
+
+        List<int[]> clashes = taskList.findClashes().getMatches();
+        assertEquals(2, clashes.size());
+        assertArrayEquals(new int[] {0, 3}, clashes.get(0));
+        assertArrayEquals(new int[] {1, 3}, clashes.get(1));
+        assertArrayEquals(new int[] {0, 3}, taskList.findEventsBetween(LocalDateTime.of(2099, 3, 1, 10, 30),
+                LocalDateTime.of(2099, 3, 1, 11, 0)).getMatches());
+
+        taskList.deleteTask(0);
+        clashes = taskList.findClashes().getMatches();
+        assertEquals(1, clashes.size());
+        assertArrayEquals(new int[] {0, 2}, clashes.get(0));
+    }
+
+    /**
+     * Tests that a tag query combines tags with AND, OR and NOT, following tag changes made through the list,
+     * and that a query without a tag outside NOT is rejected.
+     *
+     * @throws EinsteinException if a tag cannot be changed or the query cannot be parsed
+     */
+    @Test
+    void findTasksWithTags_booleanQuery_matchingTasksReturned() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("write report"));
+        taskList.addTask(new Todo("fix bug"));
+        taskList.addTask(new Todo("clean house"));
+        taskList.addTaskTag(0, "work");
+        taskList.addTaskTag(0, "urgent");
+        taskList.addTaskTag(1, "work");
+        taskList.addTaskTag(2, "home");
+
+        assertArrayEquals(new int[] {0}, taskList.findTasksWithTags(new TagQuery("work AND urgent")).getMatches());
+        assertArrayEquals(new int[] {1, 2},
+                taskList.findTasksWithTags(new TagQuery("work NOT urgent OR home")).getMatches());
+        taskList.removeTaskTag(0, "urgent");
+        assertArrayEquals(new int[] {0, 1}, taskList.findTasksWithTags(new TagQuery("work not urgent")).getMatches());
+        assertThrows(EinsteinException.class, () -> new TagQuery("work OR NOT home"));
+    }
+
+    /**
+     * Tests that deleted tasks are left out of searches, date lookups and tag queries,
+     * both before and after their ids are purged from the posting lists.
+     *
+     * @throws EinsteinException if a task cannot be tagged or deleted, or the query cannot be parsed
+     */
+    @Test
+    void deleteTasks_indexedTasks_deletedTasksNotFound() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        LocalDate day = LocalDate.of(2099, 5, 1);
+        for (int i = 0; i < 10; i++) {
+            taskList.addTask(new Deadline("report " + i, day.atTime(9, 0)));
+            taskList.addTaskTag(i, "work");
+        }
+
+        taskList.deleteTasks(0);
+        assertEquals(9, taskList.findTasks("report").size());
+        assertEquals(0, taskList.findTasks("port 0").size());
+        assertEquals(9, taskList.findTasks("re").size());
+        assertEquals(9, taskList.findSimilarTasks("reprot").size());
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, taskList.findTasksBetween(day, day).getMatches());
+        assertEquals(9, taskList.findTasksWithTags(new TagQuery("work")).getMatches().length);
+
+        taskList.deleteTasks(0, 1, 2, 3);
+        assertEquals(5, taskList.findTasks("report").size());
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, taskList.findTasksBetween(day, day).getMatches());
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, taskList.findTasksWithTags(new TagQuery("work")).getMatches());
+        assertEquals("report 5", taskList.findTasks("report").get(0).getDescription());
+    }
+
+    /**
+     * Tests that the positions of a query result keep pointing at the matched tasks in the version returned with them,
+     * even after a deletion shifts the positions in the live list.
+     *
+     * @throws EinsteinException if a task cannot be tagged or deleted, or the query cannot be parsed
+     */
+    @Test
+    void findTasksWithTags_laterDeletion_resultIndexesItsOwnVersion() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("write report"));
+        taskList.addTask(new Todo("fix bug"));
+        taskList.addTaskTag(1, "work");
+
+        QueryResult<int[]> result = taskList.findTasksWithTags(new TagQuery("work"));
+        taskList.deleteTask(0);
+
+        assertArrayEquals(new int[] {1}, result.getMatches());
+        assertEquals("fix bug", result.getTasks().get(result.getMatches()[0]).getDescription());
+        assertArrayEquals(new int[] {0}, taskList.findTasksWithTags(new TagQuery("work")).getMatches());
+    }
+
+    /**
+     * Tests that filtering by done status and priority follows changes made through the list,
+     * including deletions that shift the positions of later tasks.
+     *
+     * @throws EinsteinException if a task cannot be changed
+     */
+    @Test
+    void filterTasks_statusAndPriority_matchingTasksReturned() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Todo("write report"));
+        taskList.addTask(new Todo("fix bug"));
+        taskList.addTask(new Todo("clean house"));
+        taskList.addTask(new Todo("buy milk"));
+        taskList.markTaskAsDone(1);
+        taskList.markTaskAsDone(3);
+        taskList.setTaskPriority(2, Priority.HIGH);
+        taskList.setTaskPriority(3, Priority.LOW);
+        taskList.setTaskPriority(3, Priority.HIGH);
+
+        assertArrayEquals(new int[] {1, 3}, taskList.filterTasks(true, null).getMatches());
+        assertArrayEquals(new int[] {0, 2}, taskList.filterTasks(false, null).getMatches());
+        assertArrayEquals(new int[] {2, 3}, taskList.filterTasks(null, Priority.HIGH).getMatches());
+        assertArrayEquals(new int[] {3}, taskList.filterTasks(true, Priority.HIGH).getMatches());
+        assertArrayEquals(new int[0], taskList.filterTasks(null, Priority.LOW).getMatches());
+
+        taskList.deleteTask(0);
+        taskList.markTaskAsNotDone(2);
+        assertArrayEquals(new int[] {1, 2}, taskList.filterTasks(false, Priority.HIGH).getMatches());
+        assertArrayEquals(new int[] {0}, taskList.filterTasks(true, null).getMatches());
+    }
+
+    /**
+     * Tests that task ids stay the same when earlier tasks are deleted, by index or by id,
+     * and that the ids of deleted tasks can no longer be looked up.
+     *
+     * @throws EinsteinException if a task cannot be deleted or looked up
+     */
+    @Test
+    void deleteTasks_stableIds_remainingTasksKeepTheirIds() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        for (String description : new String[] {"a", "b", "c", "d", "e"}) {
+            taskList.addTask(new Todo(description));
+        }
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, taskList.getTaskIds());
+
+        taskList.deleteTasks(0, 2);
+        taskList.deleteTaskById(5);
+        assertEquals(2, taskList.getTaskCount());
+        assertArrayEquals(new int[] {2, 4}, taskList.getTaskIds());
+        assertEquals(1, taskList.getIndexById(4));
+        assertEquals("d", taskList.getTasks().get(1).getDescription());
+        assertEquals(1, taskList.findTasks("d").size());
+        assertThrows(EinsteinException.class, () -> taskList.getIndexById(3));
+        assertThrows(EinsteinException.class, () -> taskList.deleteTaskById(5));
+    }
+
+    /**
+     * Tests that queries running on several threads while another thread adds and deletes tasks
+     * only ever see complete snapshots, with positions and ids taken from the same snapshot as the tasks,
+     * and that every change is applied.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    void getTasks_concurrentReadersAndWriter_consistentSnapshotsSeen() throws Exception {
+        TaskList taskList = new TaskList();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    taskList.addTask(new Todo("task " + i));
+                    if (i % 4 == 3) {
+                        taskList.deleteTasks(0);
+                    }
+                }
+                return null;
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        for (Task task : taskList.getTasks()) {
+                            assertTrue(task.getDescription().startsWith("task "));
+                        }
+                        for (Task task : taskList.findTasks("task")) {
+                            assertTrue(task.getDescription().startsWith("task "));
+                        }
+                        QueryResult<int[]> pending = taskList.filterTasks(false, null);
+                        assertEquals(pending.getTasks().size(), pending.getMatches().length);
+                        QueryResult<int[]> listing = taskList.getTasksWithIds();
+                        assertEquals(listing.getTasks().size(), listing.getMatches().length);
+                    }
+                    return null;
+                }));
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1500, taskList.getTaskCount());
+        assertEquals(1500, taskList.findTasks("task").size());
+        assertEquals("task 500", taskList.getTask(0).getDescription());
+    }
+
+    /**
+     * Tests that a snapshot of the tasks does not change when tasks are later added, changed or deleted.
+     *
+     * @throws EinsteinException if a task cannot be changed
+     */
+    @Test
+    void getTasks_laterChanges_snapshotUnchanged() throws EinsteinException {
+        TaskList taskList = new TaskList();
+        taskList.addTasks(List.of(new Todo("read book"), new Todo("return book")));
+        List<Task> snapshot = taskList.getTasks();
+
+        taskList.markTaskAsDone(0);
+        taskList.addTaskTag(1, "library");
+        taskList.addTask(new Todo("buy milk"));
+        taskList.deleteTask(1);
+
+        assertEquals(2, snapshot.size());
+        assertFalse(snapshot.get(0).getIsDone());
+        assertTrue(snapshot.get(1).getTags().isEmpty());
+        assertEquals("[T][ ] read book", snapshot.get(0).toString());
+        List<Task> current = taskList.getTasks();
+        assertEquals(2, current.size());
+        assertTrue(current.get(0).getIsDone());
+        assertEquals("buy milk", current.get(1).getDescription());
+    }
 }
@@ -0,0 +1,63 @@
+package einstein.task;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import einstein.exception.EinsteinException;
+
+/**
+ * Test class for the Task class.
+ * This class contains unit tests to verify the correct handling of tags.
+ */
+class TaskTest {
+
+    /**
+     * Tests that tags are interned, so the same tag on two tasks has the same id,
+     * and that removing a tag the task does not have throws an exception.
+     *
+     * @throws EinsteinException if a tag cannot be removed
+     */
+    @Test
+    void addTag_sameTagOnTwoTasks_tagIdShared() throws EinsteinException {
+        Task first = new Todo("write report");
+        Task second = new Todo("fix bug");
+        assertEquals(0, first.getTagIds().length);
+
+        first.addTag("work");
+        first.addTag("urgent");
+        first.addTag("work");
+        second.addTag("work");
+        assertEquals(2, first.getTagIds().length);
+        assertArrayEquals(new int[] {TagDictionary.find("work")}, second.getTagIds());
+        assertEquals(List.of("work"), second.getTags());
+
+        first.removeTag("work");
+        assertFalse(first.hasTag("work"));
+        assertTrue(first.hasTag("urgent"));
+        assertThrows(EinsteinException.class, () -> second.removeTag("urgent"));
+    }
+
+    /**
+     * Tests that adding a tag the task already has does not change the task's version,
+     * so storage does not treat the task as changed.
+     */
+    @Test
+    void addTag_existingTag_versionUnchanged() {
+        Task task = new Todo("write report");
+        task.addTag("work");
+        int version = task.getVersion();
+
+        task.addTag("work");
+
+        assertEquals(version, task.getVersion());
+        assertEquals(TagDictionary.find("work"), TagDictionary.intern("work"));
+        assertEquals("work", TagDictionary.getTag(TagDictionary.find("work")));
+    }
+}
@@ -0,0 +1,48 @@
+package einstein.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the DateTimeCodec class.
+ * This class contains unit tests to verify that dates and times are parsed and formatted
+ * the same way as the equivalent DateTimeFormatter patterns.
+ */
+class DateTimeCodecTest {
+
+    /**
+     * Tests that formatting and parsing a date and time in the storage pattern gives back the same value,
+     * with the year padded to four digits.
+     */
+    @Test
+    void formatAndParseDateTime_validDateTime_sameDateTimeReturned() {
+        LocalDateTime dateTime = LocalDateTime.of(999, 3, 7, 9, 5);
+
+        String formatted = DateTimeCodec.formatDateTime(dateTime);
+
+        assertEquals("7/3/0999 0905", formatted);
+        assertEquals(dateTime, DateTimeCodec.parseDateTime(formatted));
+    }
+
+    /**
+     * Tests that a day past the end of the month is resolved like the formatter does,
+     * by moving it back to the last day of the month.
+     */
+    @Test
+    void parseDateTime_dayPastEndOfMonth_lastDayOfMonthReturned() {
+        assertEquals(LocalDateTime.of(2099, 2, 28, 18, 0), DateTimeCodec.parseDateTime("31/2/2099 1800"));
+    }
+
+    /**
+     * Tests that parsing a date and time in the wrong pattern throws a DateTimeParseException.
+     */
+    @Test
+    void parseDateTime_invalidPattern_exceptionThrown() {
+        assertThrows(DateTimeParseException.class, () -> DateTimeCodec.parseDateTime("2099-12-02 18:00"));
+    }
+}